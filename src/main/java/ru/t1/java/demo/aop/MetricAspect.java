@@ -1,18 +1,30 @@
 package ru.t1.java.demo.aop;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.annotation.After;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.Order;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+import static ru.t1.java.demo.model.enums.Metrics.TRACK_METHOD_DURATION;
+
+/**
+ * Records every {@link ru.t1.java.demo.aop.annotation.Track} call into a {@link Timer} tagged by class and method.
+ * Timers are created once per method; a call only reads {@link System#nanoTime()} twice and records the result.
+ */
 @Async
 @Slf4j
 @Aspect
@@ -20,34 +32,43 @@ import java.util.concurrent.atomic.AtomicLong;
 @Order(1)
 public class MetricAspect {
 
-    private static final AtomicLong START_TIME = new AtomicLong();
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
 
-    @Before("@annotation(ru.t1.java.demo.aop.annotation.Track)")
-    public void logExecTime(JoinPoint joinPoint) throws Throwable {
-        log.info("Старт метода: {}", joinPoint.getSignature().toShortString());
-        START_TIME.addAndGet(System.currentTimeMillis());
-    }
+    @Value("${t1.metrics.track.slo:10,50,100,500,1000}")
+    private long[] slo;
+    @Value("${t1.metrics.track.slow-threshold:0}")
+    private long slowThreshold;
 
-    @After("@annotation(ru.t1.java.demo.aop.annotation.Track)")
-    public void calculateTime(JoinPoint joinPoint) {
-        long afterTime = System.currentTimeMillis();
-        log.info("Время исполнения: {} ms", (afterTime - START_TIME.get()));
-        START_TIME.set(0L);
+    public MetricAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
     }
 
     @Around("@annotation(ru.t1.java.demo.aop.annotation.Track)")
     public Object logExecTime(ProceedingJoinPoint pJoinPoint) throws Throwable {
-        log.info("Вызов метода: {}", pJoinPoint.getSignature().toShortString());
-        long beforeTime = System.currentTimeMillis();
-        Object result = null;
+        long start = System.nanoTime();
         try {
-            result = pJoinPoint.proceed();//Important
+            return pJoinPoint.proceed();
         } finally {
-            long afterTime = System.currentTimeMillis();
-            log.info("Время исполнения: {} ms", (afterTime - beforeTime));
+            long elapsed = System.nanoTime() - start;
+            Method method = ((MethodSignature) pJoinPoint.getSignature()).getMethod();
+            timers.computeIfAbsent(method, this::timer).record(elapsed, TimeUnit.NANOSECONDS);
+            if (slowThreshold > 0 && elapsed > TimeUnit.MILLISECONDS.toNanos(slowThreshold)) {
+                log.warn("Медленный вызов {}: {} ms", pJoinPoint.getSignature().toShortString(),
+                        TimeUnit.NANOSECONDS.toMillis(elapsed));
+            }
         }
-
-        return result;
     }
 
+    private Timer timer(Method method) {
+        return Timer.builder(TRACK_METHOD_DURATION.getValue())
+                .tag("group", "t1_java")
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .serviceLevelObjectives(Arrays.stream(slo)
+                        .mapToObj(Duration::ofMillis)
+                        .toArray(Duration[]::new))
+                .register(meterRegistry);
+    }
 }
@@ -0,0 +1,10 @@
+package ru.t1.java.demo.batch;
+
+public enum ClientImportFormat {
+    JSON,
+    CSV;
+
+    public static ClientImportFormat fromSource(String source) {
+        return source.toLowerCase().endsWith(".csv") ? CSV : JSON;
+    }
+}
@@ -0,0 +1,143 @@
+package ru.t1.java.demo.batch;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.io.FileSystemResource;
+import ru.t1.java.demo.model.dto.ClientDto;
+import ru.t1.java.demo.util.ClientJsonReader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Deals the source records round-robin into {@code gridSize} part files in one streaming pass,
+ * so every partition reads only its own part. CSV lines are copied without being parsed,
+ * JSON objects are parsed once and written back as one array per part.
+ * The part file of each partition is stored under {@link #PART_KEY}.
+ */
+public class ClientImportPartitioner implements Partitioner {
+
+    public static final String PART_KEY = "part";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectWriter WRITER = OBJECT_MAPPER.writerFor(ClientDto.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    private final Path source;
+    private final ClientImportFormat format;
+    private final Path partsDirectory;
+    private final ClientJsonReader clientJsonReader;
+
+    public ClientImportPartitioner(Path source,
+                                   ClientImportFormat format,
+                                   Path partsDirectory,
+                                   ClientJsonReader clientJsonReader) {
+        this.source = source;
+        this.format = format;
+        this.partsDirectory = partsDirectory;
+        this.clientJsonReader = clientJsonReader;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Path[] parts = new Path[gridSize];
+        try {
+            Files.createDirectories(partsDirectory);
+            for (int i = 0; i < gridSize; i++) {
+                parts[i] = partsDirectory.resolve("part-" + i + (format == ClientImportFormat.CSV ? ".csv" : ".json"));
+            }
+            if (format == ClientImportFormat.CSV) {
+                splitCsv(parts);
+            } else {
+                splitJson(parts);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to split " + source, e);
+        }
+
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+        for (int i = 0; i < gridSize; i++) {
+            ExecutionContext context = new ExecutionContext();
+            context.putString(PART_KEY, parts[i].toString());
+            partitions.put("partition" + i, context);
+        }
+        return partitions;
+    }
+
+    private void splitCsv(Path[] parts) throws IOException {
+        BufferedWriter[] writers = new BufferedWriter[parts.length];
+        try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            for (int i = 0; i < parts.length; i++) {
+                writers[i] = Files.newBufferedWriter(parts[i], StandardCharsets.UTF_8);
+                if (header != null) {
+                    writers[i].write(header);
+                    writers[i].newLine();
+                }
+            }
+            int next = 0;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                BufferedWriter writer = writers[next++ % writers.length];
+                writer.write(line);
+                writer.newLine();
+            }
+        } finally {
+            closeAll(writers);
+        }
+    }
+
+    private void splitJson(Path[] parts) throws IOException {
+        JsonGenerator[] generators = new JsonGenerator[parts.length];
+        try (Stream<ClientDto> clients = clientJsonReader.stream(new FileSystemResource(source))) {
+            for (int i = 0; i < parts.length; i++) {
+                generators[i] = OBJECT_MAPPER.getFactory().createGenerator(parts[i].toFile(), JsonEncoding.UTF8);
+                generators[i].writeStartArray();
+            }
+            int next = 0;
+            for (Iterator<ClientDto> iterator = clients.iterator(); iterator.hasNext(); ) {
+                WRITER.writeValue(generators[next++ % generators.length], iterator.next());
+            }
+            for (JsonGenerator generator : generators) {
+                generator.writeEndArray();
+            }
+        } finally {
+            closeAll(generators);
+        }
+    }
+
+    private static void closeAll(AutoCloseable[] resources) throws IOException {
+        IOException failure = null;
+        for (AutoCloseable resource : resources) {
+            if (resource == null) {
+                continue;
+            }
+            try {
+                resource.close();
+            } catch (Exception e) {
+                if (failure == null) {
+                    failure = e instanceof IOException io ? io : new IOException(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
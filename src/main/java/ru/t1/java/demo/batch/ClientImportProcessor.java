@@ -0,0 +1,18 @@
+package ru.t1.java.demo.batch;
+
+import org.springframework.batch.item.ItemProcessor;
+import ru.t1.java.demo.model.Client;
+import ru.t1.java.demo.model.dto.ClientDto;
+import ru.t1.java.demo.util.ClientMapper;
+
+/**
+ * Applies the import transforms (same as {@code ClientService#clearMiddleName}) and maps to {@link Client}.
+ */
+public class ClientImportProcessor implements ItemProcessor<ClientDto, Client> {
+
+    @Override
+    public Client process(ClientDto dto) {
+        dto.setMiddleName(null);
+        return ClientMapper.toEntity(dto);
+    }
+}
@@ -0,0 +1,155 @@
+package ru.t1.java.demo.config;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.batch.item.json.JacksonJsonObjectReader;
+import org.springframework.batch.item.json.builder.JsonItemReaderBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.FileSystemUtils;
+import ru.t1.java.demo.batch.ClientImportFormat;
+import ru.t1.java.demo.batch.ClientImportPartitioner;
+import ru.t1.java.demo.batch.ClientImportProcessor;
+import ru.t1.java.demo.model.Client;
+import ru.t1.java.demo.model.dto.ClientDto;
+import ru.t1.java.demo.repository.ClientJdbcRepository;
+import ru.t1.java.demo.util.ClientJsonReader;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+/**
+ * Bulk client import: the source is split into part files in one pass, then the parts are read,
+ * transformed and written by a multi-threaded partitioned step. Chunks are committed with JDBC
+ * batch inserts and every partition keeps its read position in the job repository, so a failed
+ * run restarts from the last committed chunk of each part.
+ */
+@Configuration
+public class ClientImportJobConfig {
+
+    public static final String JOB_NAME = "clientImportJob";
+    public static final String SOURCE_PARAMETER = "source";
+    public static final String FORMAT_PARAMETER = "format";
+
+    private static final String[] CSV_COLUMNS =
+            {"id", "first_name", "last_name", "middle_name", "email", "gender", "ip_address"};
+
+    @Value("${t1.batch.client-import.chunk-size:1000}")
+    private int chunkSize;
+    @Value("${t1.batch.client-import.grid-size:8}")
+    private int gridSize;
+    @Value("${t1.batch.client-import.threads:8}")
+    private int threads;
+    @Value("${t1.batch.client-import.work-directory:${t1.batch.client-import.directory:import}/.parts}")
+    private String workDirectory;
+
+    @Bean
+    public Job clientImportJob(JobRepository jobRepository, Step clientImportManagerStep) {
+        return new JobBuilder(JOB_NAME, jobRepository)
+                .start(clientImportManagerStep)
+                .listener(partsCleanup())
+                .build();
+    }
+
+    @Bean
+    public Step clientImportManagerStep(JobRepository jobRepository,
+                                        Partitioner clientImportPartitioner,
+                                        Step clientImportWorkerStep) {
+        SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("client-import-");
+        taskExecutor.setConcurrencyLimit(threads);
+
+        return new StepBuilder("clientImportManagerStep", jobRepository)
+                .partitioner(clientImportWorkerStep.getName(), clientImportPartitioner)
+                .step(clientImportWorkerStep)
+                .gridSize(gridSize)
+                .taskExecutor(taskExecutor)
+                .build();
+    }
+
+    @Bean
+    public Step clientImportWorkerStep(JobRepository jobRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       ItemStreamReader<ClientDto> clientImportReader,
+                                       ClientJdbcRepository clientJdbcRepository) {
+        return new StepBuilder("clientImportWorkerStep", jobRepository)
+                .<ClientDto, Client>chunk(chunkSize, transactionManager)
+                .reader(clientImportReader)
+                .processor(new ClientImportProcessor())
+                .writer(chunk -> clientJdbcRepository.batchInsert(new ArrayList<>(chunk.getItems())))
+                .build();
+    }
+
+    @Bean
+    @JobScope
+    public Partitioner clientImportPartitioner(@Value("#{jobParameters['" + SOURCE_PARAMETER + "']}") String source,
+                                               @Value("#{jobParameters['" + FORMAT_PARAMETER + "']}") String format,
+                                               @Value("#{jobExecution.jobId}") Long jobInstanceId,
+                                               ClientJsonReader clientJsonReader) {
+        return new ClientImportPartitioner(Path.of(source), ClientImportFormat.valueOf(format),
+                partsDirectory(jobInstanceId), clientJsonReader);
+    }
+
+    @Bean
+    @StepScope
+    public ItemStreamReader<ClientDto> clientImportReader(
+            @Value("#{jobParameters['" + FORMAT_PARAMETER + "']}") String format,
+            @Value("#{stepExecutionContext['" + ClientImportPartitioner.PART_KEY + "']}") String part) {
+        Resource resource = new FileSystemResource(part);
+        if (ClientImportFormat.valueOf(format) == ClientImportFormat.CSV) {
+            return new FlatFileItemReaderBuilder<ClientDto>()
+                    .name("clientCsvReader")
+                    .resource(resource)
+                    .linesToSkip(1)
+                    .delimited()
+                    .names(CSV_COLUMNS)
+                    .fieldSetMapper(fieldSet -> ClientDto.builder()
+                            .firstName(fieldSet.readString("first_name"))
+                            .lastName(fieldSet.readString("last_name"))
+                            .middleName(fieldSet.readString("middle_name"))
+                            .build())
+                    .build();
+        }
+        return new JsonItemReaderBuilder<ClientDto>()
+                .name("clientJsonReader")
+                .resource(resource)
+                .jsonObjectReader(new JacksonJsonObjectReader<>(ClientDto.class))
+                .build();
+    }
+
+    /**
+     * Part files are kept per job instance, so a restart reads the same parts,
+     * and removed once the import has completed.
+     */
+    private Path partsDirectory(long jobInstanceId) {
+        return Path.of(workDirectory).resolve(String.valueOf(jobInstanceId));
+    }
+
+    private JobExecutionListener partsCleanup() {
+        return new JobExecutionListener() {
+            @Override
+            public void afterJob(JobExecution jobExecution) {
+                if (jobExecution.getStatus() != BatchStatus.COMPLETED) {
+                    return;
+                }
+                Path directory = partsDirectory(jobExecution.getJobId());
+                FileSystemUtils.deleteRecursively(directory.toFile());
+            }
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package ru.t1.java.demo.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
@@ -11,6 +12,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
 import org.springframework.kafka.listener.CommonErrorHandler;
@@ -23,6 +25,7 @@ import org.springframework.util.backoff.FixedBackOff;
 import ru.t1.java.demo.kafka.KafkaClientProducer;
 import ru.t1.java.demo.kafka.MessageDeserializer;
 import ru.t1.java.demo.model.dto.ClientDto;
+import ru.t1.java.demo.model.dto.TransactionDto;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -39,7 +42,7 @@ public class DemoKafkaConfig<T> {
     private String sessionTimeout;
     @Value("${t1.kafka.max.partition.fetch.bytes:300000}")
     private String maxPartitionFetchBytes;
-    @Value("${t1.kafka.max.poll.records:1}")
+    @Value("${t1.kafka.consumer.max.poll.records:500}")
     private String maxPollRecords;
     @Value("${t1.kafka.max.poll.interval.ms:300000}")
     private String maxPollIntervalsMs;
@@ -47,18 +50,54 @@ public class DemoKafkaConfig<T> {
     private String heartbeatInterval;
     @Value("${t1.kafka.topic.client_id_registered}")
     private String clientTopic;
+    @Value("${t1.kafka.listener.concurrency:1}")
+    private int listenerConcurrency;
+    @Value("${t1.kafka.producer.linger-ms:5}")
+    private String producerLingerMs;
+    @Value("${t1.kafka.producer.batch-size:65536}")
+    private String producerBatchSize;
+    @Value("${t1.kafka.producer.compression-type:lz4}")
+    private String producerCompressionType;
+    @Value("${t1.kafka.producer.acks:all}")
+    private String producerAcks;
+    @Value("${t1.kafka.consumer.transaction-group-id:t1-demo-transactions}")
+    private String transactionGroupId;
+    @Value("${t1.kafka.consumer.transaction-max-poll-records:5000}")
+    private String transactionMaxPollRecords;
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
 
 
     @Bean
-    public ConsumerFactory<String, ClientDto> consumerListenerFactory() {
+    public ConsumerFactory<String, ClientDto> consumerListenerFactory(MeterRegistry meterRegistry) {
+        Map<String, Object> props = consumerProps(groupId, ClientDto.class, maxPollRecords, meterRegistry);
+
+        DefaultKafkaConsumerFactory factory = new DefaultKafkaConsumerFactory<String, ClientDto>(props);
+        factory.setKeyDeserializer(new StringDeserializer());
+        return factory;
+    }
+
+    @Bean
+    public ConsumerFactory<String, TransactionDto> transactionConsumerFactory(MeterRegistry meterRegistry) {
+        Map<String, Object> props = consumerProps(transactionGroupId, TransactionDto.class, transactionMaxPollRecords,
+                meterRegistry);
+
+        DefaultKafkaConsumerFactory<String, TransactionDto> factory = new DefaultKafkaConsumerFactory<>(props);
+        factory.setKeyDeserializer(new StringDeserializer());
+        // records-lag-max per partition for the ingest lag dashboards
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
+    }
+
+    private Map<String, Object> consumerProps(String groupId, Class<?> valueType, String maxPollRecords,
+                                              MeterRegistry meterRegistry) {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, servers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, MessageDeserializer.class);
-        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, "ru.t1.java.demo.model.dto.ClientDto");
-        props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
-        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, valueType.getName());
+        props.put(MessageDeserializer.METER_REGISTRY_CONFIG, meterRegistry);
         props.put(ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG, sessionTimeout);
         props.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, maxPartitionFetchBytes);
         props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
@@ -69,10 +108,7 @@ public class DemoKafkaConfig<T> {
 
         props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, MessageDeserializer.class.getName());
         props.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, MessageDeserializer.class);
-
-        DefaultKafkaConsumerFactory factory = new DefaultKafkaConsumerFactory<String, ClientDto>(props);
-        factory.setKeyDeserializer(new StringDeserializer());
-        return factory;
+        return props;
     }
 
     @Bean
@@ -82,14 +118,26 @@ public class DemoKafkaConfig<T> {
         return factory;
     }
 
+    @Bean
+    ConcurrentKafkaListenerContainerFactory<String, TransactionDto> transactionListenerContainerFactory(@Qualifier("transactionConsumerFactory") ConsumerFactory<String, TransactionDto> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<String, TransactionDto> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factoryBuilder(consumerFactory, factory);
+        return factory;
+    }
+
     private <T> void factoryBuilder(ConsumerFactory<String, T> consumerFactory, ConcurrentKafkaListenerContainerFactory<String, T> factory) {
         factory.setConsumerFactory(consumerFactory);
         factory.setBatchListener(true);
-        factory.setConcurrency(1);
+        factory.setConcurrency(listenerConcurrency);
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
         factory.getContainerProperties().setPollTimeout(5000);
         factory.getContainerProperties().setMicrometerEnabled(true);
         factory.setCommonErrorHandler(errorHandler());
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor listenerExecutor = new SimpleAsyncTaskExecutor("kafka-listener-");
+            listenerExecutor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(listenerExecutor);
+        }
     }
 
     private CommonErrorHandler errorHandler() {
@@ -112,14 +160,15 @@ public class DemoKafkaConfig<T> {
     @ConditionalOnProperty(value = "t1.kafka.producer.enable",
             havingValue = "true",
             matchIfMissing = true)
-    public KafkaClientProducer producerClient(@Qualifier("client") KafkaTemplate<String, ClientDto> template) {
+    public KafkaClientProducer producerClient(@Qualifier("client") KafkaTemplate<String, ClientDto> template,
+                                              MeterRegistry meterRegistry) {
         template.setDefaultTopic(clientTopic);
         // murmur2 - default hash
-        return new KafkaClientProducer(template);
+        return new KafkaClientProducer(template, meterRegistry);
     }
 
     @Bean("producerClientFactory")
-    public ProducerFactory<String, T> producerClientFactory() {
+    public ProducerFactory<String, T> producerClientFactory(MeterRegistry meterRegistry) {
         Map<String, Object> props = new HashMap<>();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, servers);
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
@@ -127,7 +176,13 @@ public class DemoKafkaConfig<T> {
         props.put(ProducerConfig.RETRIES_CONFIG, 3);
         props.put(ProducerConfig.RETRY_BACKOFF_MS_CONFIG, 1000);
         props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, false);
-        return new DefaultKafkaProducerFactory<>(props);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, producerLingerMs);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, producerBatchSize);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, producerCompressionType);
+        props.put(ProducerConfig.ACKS_CONFIG, producerAcks);
+        DefaultKafkaProducerFactory<String, T> factory = new DefaultKafkaProducerFactory<>(props);
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package ru.t1.java.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.StreamsConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.annotation.KafkaStreamsDefaultConfiguration;
+import org.springframework.kafka.config.KafkaStreamsConfiguration;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.kafka.streams.KafkaStreamsInteractiveQueryService;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import ru.t1.java.demo.kafka.MessageDeserializer;
+import ru.t1.java.demo.model.dto.TransactionDto;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@EnableKafkaStreams
+@ConditionalOnProperty(value = "t1.kafka.streams.enabled", havingValue = "true")
+public class KafkaStreamsConfig {
+
+    @Value("${t1.kafka.bootstrap.server}")
+    private String servers;
+    @Value("${t1.kafka.streams.application-id:t1-demo-streams}")
+    private String applicationId;
+    @Value("${t1.kafka.streams.application-server:localhost:8080}")
+    private String applicationServer;
+    @Value("${t1.kafka.streams.state-dir:/tmp/kafka-streams}")
+    private String stateDir;
+    @Value("${t1.kafka.streams.num-standby-replicas:1}")
+    private int numStandbyReplicas;
+
+    @Bean(name = KafkaStreamsDefaultConfiguration.DEFAULT_STREAMS_CONFIG_BEAN_NAME)
+    public KafkaStreamsConfiguration kafkaStreamsConfiguration() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, applicationId);
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, servers);
+        props.put(StreamsConfig.APPLICATION_SERVER_CONFIG, applicationServer);
+        props.put(StreamsConfig.STATE_DIR_CONFIG, stateDir);
+        props.put(StreamsConfig.NUM_STANDBY_REPLICAS_CONFIG, numStandbyReplicas);
+        props.put(StreamsConfig.DEFAULT_KEY_SERDE_CLASS_CONFIG, Serdes.StringSerde.class);
+        props.put(StreamsConfig.DEFAULT_VALUE_SERDE_CLASS_CONFIG, Serdes.StringSerde.class);
+        return new KafkaStreamsConfiguration(props);
+    }
+
+    @Bean
+    public KafkaStreamsInteractiveQueryService kafkaStreamsInteractiveQueryService(StreamsBuilderFactoryBean streamsBuilderFactoryBean) {
+        return new KafkaStreamsInteractiveQueryService(streamsBuilderFactoryBean);
+    }
+
+    /**
+     * Same JSON reading as the transaction listener: broken records are counted and come out as {@code null}.
+     */
+    public static Serde<TransactionDto> transactionSerde(MeterRegistry meterRegistry) {
+        MessageDeserializer<TransactionDto> deserializer = new MessageDeserializer<>(meterRegistry);
+        deserializer.configure(Map.of(JsonDeserializer.VALUE_DEFAULT_TYPE, TransactionDto.class), false);
+        JsonSerializer<TransactionDto> serializer = new JsonSerializer<TransactionDto>().noTypeInfo();
+        return new Serdes.WrapperSerde<>(serializer, deserializer);
+    }
+
+    public static Serde<BigDecimal> bigDecimalSerde() {
+        return Serdes.serdeFrom(
+                (topic, value) -> value == null ? null : value.toPlainString().getBytes(StandardCharsets.UTF_8),
+                (topic, bytes) -> bytes == null ? null : new BigDecimal(new String(bytes, StandardCharsets.UTF_8)));
+    }
+}
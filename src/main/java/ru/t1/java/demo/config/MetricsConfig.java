@@ -8,8 +8,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import ru.t1.java.demo.service.metrics.VirtualThreadPinningMetrics;
+
+import java.time.Duration;
 
 @Slf4j
 @Configuration
@@ -25,6 +29,13 @@ public class MetricsConfig {
         return new ProcessThreadMetrics();
     }
 
+    @Bean
+    @ConditionalOnProperty(value = "spring.threads.virtual.enabled", havingValue = "true")
+    public MeterBinder virtualThreadPinningMetrics(
+            @Value("${t1.metrics.virtual-threads.pinned-threshold:20}") long pinnedThreshold) {
+        return new VirtualThreadPinningMetrics(Duration.ofMillis(pinnedThreshold));
+    }
+
     @Bean
     MeterRegistryCustomizer<MeterRegistry> configurer(
             @Value("${spring.application.name}") String applicationName) {
@@ -2,6 +2,7 @@ package ru.t1.java.demo.config;
 
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -14,6 +15,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import ru.t1.java.demo.service.TokenRevocationService;
 import ru.t1.java.demo.service.impl.UserDetailsServiceImpl;
 import ru.t1.java.demo.util.AuthEntryPointJwt;
 import ru.t1.java.demo.util.AuthTokenFilter;
@@ -26,6 +28,10 @@ public class WebSecurityConfig { // extends WebSecurityConfigurerAdapter { // Sp
     private final UserDetailsServiceImpl userDetailsService;
     private final JwtUtils jwtUtils;
     private final AuthEntryPointJwt unauthorizedHandler;
+    private final TokenRevocationService tokenRevocationService;
+
+    @Value("${security.bcrypt.strength:10}")
+    private int bcryptStrength;
 
 //     Spring Boot 2
 
@@ -55,7 +61,7 @@ public class WebSecurityConfig { // extends WebSecurityConfigurerAdapter { // Sp
 
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
-        return new AuthTokenFilter(jwtUtils, userDetailsService);
+        return new AuthTokenFilter(jwtUtils, tokenRevocationService);
     }
 
     @Bean
@@ -64,6 +70,8 @@ public class WebSecurityConfig { // extends WebSecurityConfigurerAdapter { // Sp
 
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // re-hashes on successful login when security.bcrypt.strength has been raised
+        authProvider.setUserDetailsPasswordService(userDetailsService);
 
         return authProvider;
     }
@@ -76,7 +84,7 @@ public class WebSecurityConfig { // extends WebSecurityConfigurerAdapter { // Sp
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
@@ -85,7 +93,8 @@ public class WebSecurityConfig { // extends WebSecurityConfigurerAdapter { // Sp
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth ->
-                                auth.requestMatchers("/api/auth/**").anonymous()
+                                auth.requestMatchers("/api/auth/signout").authenticated()
+                                        .requestMatchers("/api/auth/**").anonymous()
                                         .requestMatchers("/parse/**").permitAll()
                                         .requestMatchers("/parse").permitAll()
                                         .requestMatchers("/actuator/prometheus").anonymous()
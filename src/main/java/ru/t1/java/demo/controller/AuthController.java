@@ -3,10 +3,10 @@ package ru.t1.java.demo.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
@@ -19,48 +19,50 @@ import ru.t1.java.demo.model.dto.MessageResponse;
 import ru.t1.java.demo.model.dto.SignupRequest;
 import ru.t1.java.demo.repository.RoleRepository;
 import ru.t1.java.demo.repository.UserRepository;
+import ru.t1.java.demo.service.SigninService;
+import ru.t1.java.demo.service.TokenRevocationService;
 import ru.t1.java.demo.service.impl.UserDetailsImpl;
-import ru.t1.java.demo.util.JwtUtils;
 
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 public class AuthController {
-    private final AuthenticationManager authenticationManager;
-
     private final UserRepository userRepository;
 
     private final RoleRepository roleRepository;
 
     private final PasswordEncoder encoder;
 
-    private final JwtUtils jwtUtils;
+    private final SigninService signinService;
 
-    @PostMapping("/signin")
-    public ResponseEntity<?> authenticateUser(@RequestBody LoginRequest loginRequest) {
+    private final TokenRevocationService tokenRevocationService;
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+    @PostMapping("/signin")
+    public CompletableFuture<ResponseEntity<JwtResponse>> authenticateUser(@RequestBody LoginRequest loginRequest) {
+        return signinService.signin(loginRequest)
+                .thenApply(ResponseEntity::ok);
+    }
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = jwtUtils.generateJwtToken(authentication);
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<MessageResponse> signinRejected(RejectedExecutionException e) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new MessageResponse("Error: Too many sign-in requests, try again later"));
+    }
 
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        List<String> roles = userDetails.getAuthorities().stream()
-                .map(item -> item.getAuthority())
-                .collect(Collectors.toList());
+    @PostMapping("/signout")
+    public ResponseEntity<?> logoutUser(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+        tokenRevocationService.revokeUser(userDetails.getId());
+        SecurityContextHolder.clearContext();
 
-        return ResponseEntity.ok(new JwtResponse(jwt,
-                userDetails.getId(),
-                userDetails.getUsername(),
-                userDetails.getEmail(),
-                roles));
+        return ResponseEntity.ok(new MessageResponse("User signed out successfully!"));
     }
 
     @PostMapping("/signup")
@@ -0,0 +1,32 @@
+package ru.t1.java.demo.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import ru.t1.java.demo.model.dto.ClientBalanceResponse;
+import ru.t1.java.demo.service.ClientBalanceService;
+
+import static ru.t1.java.demo.service.impl.ClientBalanceServiceImpl.FORWARDED_HEADER;
+
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "t1.kafka.streams.enabled", havingValue = "true")
+public class ClientBalanceController {
+
+    private final ClientBalanceService clientBalanceService;
+
+    @GetMapping("/clients/{id}/balance")
+    public ResponseEntity<ClientBalanceResponse> getBalance(@PathVariable Long id,
+                                                            @RequestHeader(value = FORWARDED_HEADER, defaultValue = "false") boolean forwarded) {
+        return clientBalanceService.getBalance(id, forwarded)
+                .map(balance -> ResponseEntity.ok(ClientBalanceResponse.builder()
+                        .clientId(id)
+                        .balance(balance)
+                        .build()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
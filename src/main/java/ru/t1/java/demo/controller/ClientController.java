@@ -3,15 +3,22 @@ package ru.t1.java.demo.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.t1.java.demo.aop.annotation.LogMethod;
 import ru.t1.java.demo.aop.annotation.LoggableException;
+import ru.t1.java.demo.exception.CheckDeadlineExceededException;
+import ru.t1.java.demo.exception.CheckUnavailableException;
 import ru.t1.java.demo.kafka.KafkaClientProducer;
 import ru.t1.java.demo.model.Client;
 import ru.t1.java.demo.model.dto.ClientDto;
+import ru.t1.java.demo.model.dto.MessageResponse;
 import ru.t1.java.demo.model.enums.Metrics;
 import ru.t1.java.demo.repository.ClientRepository;
 import ru.t1.java.demo.service.ClientService;
@@ -49,7 +56,7 @@ public class ClientController {
 //                .firstName("John42")
 //                .build());
 //        clientRepository.findClientByFirstName("John42");
-//        metricService.incrementByName(Metrics.CLIENT_CONTROLLER_REQUEST_COUNT.getValue());
+//        metricService.increment(Metrics.CLIENT_CONTROLLER_REQUEST_COUNT);
     }
 
     //    @HandlingResult
@@ -70,13 +77,26 @@ public class ClientController {
     }
 
     @GetMapping("/register")
-    public ResponseEntity<List<Client>> register(@RequestBody ClientDto clientDto) {
+    public Mono<ResponseEntity<List<Client>>> register(@RequestBody ClientDto clientDto) {
         log.info("Registering client: {}", clientDto);
-        List<Client> clients = clientService.registerClients(
-                List.of(clientMapper.toEntityWithId(clientDto))
-        );
-//        log.info("Client registered: {}", client.getId());
-        metricService.incrementByName(Metrics.CLIENT_CONTROLLER_REQUEST_COUNT.getValue());
-        return ResponseEntity.ok().body(clients);
+        return clientService.registerClientsAsync(List.of(clientMapper.toEntityWithId(clientDto)))
+                .doOnSuccess(clients -> metricService.increment(Metrics.CLIENT_CONTROLLER_REQUEST_COUNT))
+                .map(clients -> ResponseEntity.ok().body(clients));
+    }
+
+    @ExceptionHandler(CheckUnavailableException.class)
+    public ResponseEntity<MessageResponse> checkUnavailable(CheckUnavailableException e) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new MessageResponse("Error: Client check is unavailable, try again later"));
+    }
+
+    @ExceptionHandler(CheckDeadlineExceededException.class)
+    public ResponseEntity<MessageResponse> checkDeadlineExceeded(CheckDeadlineExceededException e) {
+        return ResponseEntity
+                .status(HttpStatus.GATEWAY_TIMEOUT)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new MessageResponse("Error: " + e.getMessage()));
     }
 }
@@ -0,0 +1,39 @@
+package ru.t1.java.demo.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobExecutionException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ru.t1.java.demo.model.dto.MessageResponse;
+import ru.t1.java.demo.service.ClientImportService;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class ClientImportController {
+
+    private final ClientImportService clientImportService;
+
+    @PostMapping("/clients/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importClients(@RequestParam String source) {
+        try {
+            return ResponseEntity.accepted()
+                    .body(clientImportService.startImport(source));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(new MessageResponse("Error: " + e.getMessage()));
+        } catch (JobExecutionException e) {
+            log.warn("Client import {} was not started: {}", source, e.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.CONFLICT)
+                    .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+}
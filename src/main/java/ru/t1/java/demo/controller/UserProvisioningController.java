@@ -0,0 +1,27 @@
+package ru.t1.java.demo.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.t1.java.demo.model.dto.BulkSignupRequest;
+import ru.t1.java.demo.model.dto.BulkSignupResponse;
+import ru.t1.java.demo.service.UserProvisioningService;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserProvisioningController {
+
+    private final UserProvisioningService userProvisioningService;
+
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkSignupResponse> registerUsers(@Valid @RequestBody BulkSignupRequest request) {
+        return ResponseEntity.ok(userProvisioningService.provision(request.getUsers()));
+    }
+}
@@ -0,0 +1,20 @@
+package ru.t1.java.demo.exception;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Not every client of a batch was checked within {@code integration.check.batch-timeout};
+ * nothing of the batch is persisted.
+ */
+@Getter
+public class CheckDeadlineExceededException extends RuntimeException {
+
+    private final List<Integer> uncheckedClientIds;
+
+    public CheckDeadlineExceededException(long timeoutMs, List<Integer> uncheckedClientIds) {
+        super("Clients " + uncheckedClientIds + " were not checked within " + timeoutMs + " ms");
+        this.uncheckedClientIds = uncheckedClientIds;
+    }
+}
@@ -0,0 +1,14 @@
+package ru.t1.java.demo.exception;
+
+public class CheckUnavailableException extends RuntimeException {
+    public CheckUnavailableException() {
+    }
+
+    public CheckUnavailableException(String message) {
+        super(message);
+    }
+
+    public CheckUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
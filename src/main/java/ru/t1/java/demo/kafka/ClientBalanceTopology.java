@@ -0,0 +1,49 @@
+package ru.t1.java.demo.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.t1.java.demo.model.dto.TransactionDto;
+
+import java.math.BigDecimal;
+
+import static ru.t1.java.demo.config.KafkaStreamsConfig.bigDecimalSerde;
+import static ru.t1.java.demo.config.KafkaStreamsConfig.transactionSerde;
+
+/**
+ * Sums {@code amount} of the client transactions topic per client into the persistent
+ * {@link #BALANCE_STORE}, keyed by client id.
+ */
+@Component
+@ConditionalOnProperty(value = "t1.kafka.streams.enabled", havingValue = "true")
+public class ClientBalanceTopology {
+
+    public static final String BALANCE_STORE = "client-balance-store";
+
+    @Value("${t1.kafka.topic.client_transactions}")
+    private String transactionTopic;
+
+    @Autowired
+    public void buildPipeline(StreamsBuilder streamsBuilder, MeterRegistry meterRegistry) {
+        streamsBuilder.stream(transactionTopic, Consumed.with(Serdes.String(), transactionSerde(meterRegistry)))
+                .filter((key, transaction) -> transaction != null
+                        && transaction.getClientId() != null
+                        && transaction.getAmount() != null)
+                .selectKey((key, transaction) -> transaction.getClientId().toString())
+                .groupByKey(Grouped.with(Serdes.String(), transactionSerde(meterRegistry)))
+                .aggregate(() -> BigDecimal.ZERO,
+                        (clientId, transaction, balance) -> balance.add(transaction.getAmount()),
+                        Materialized.<String, BigDecimal, KeyValueStore<Bytes, byte[]>>as(BALANCE_STORE)
+                                .withKeySerde(Serdes.String())
+                                .withValueSerde(bigDecimalSerde()));
+    }
+}
@@ -1,17 +1,24 @@
 package ru.t1.java.demo.kafka;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
+import ru.t1.java.demo.exception.CheckDeadlineExceededException;
+import ru.t1.java.demo.model.Client;
 import ru.t1.java.demo.model.dto.ClientDto;
 import ru.t1.java.demo.service.ClientService;
+import ru.t1.java.demo.util.ClientMapper;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Objects;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -20,33 +27,65 @@ public class KafkaClientConsumer {
 
     private final ClientService clientService;
 
+    @Value("${t1.kafka.listener.retry-backoff:1000}")
+    private long retryBackoff;
+    @Value("${t1.kafka.listener.ordered.enabled:false}")
+    private boolean orderedEnabled;
+    @Value("${t1.kafka.listener.ordered.workers:16}")
+    private int orderedWorkers;
+    @Value("${t1.kafka.listener.ordered.retry-backoff:1000}")
+    private long orderedRetryBackoff;
+
+    private KeyOrderedBatchProcessor<String, ClientDto> orderedProcessor;
+
+    @PostConstruct
+    void init() {
+        if (orderedEnabled) {
+            orderedProcessor = new KeyOrderedBatchProcessor<>(orderedWorkers, "client-listener-");
+        }
+    }
+
+    @PreDestroy
+    void destroy() {
+        if (orderedProcessor != null) {
+            orderedProcessor.shutdown();
+        }
+    }
+
     @KafkaListener(id = "${t1.kafka.consumer.group-id}",
             topics = {"t1_demo_client_registration", "client_topic"},
             containerFactory = "kafkaListenerContainerFactory")
-    public void listener(@Payload List<ClientDto> messageList,
+    public void listener(List<ConsumerRecord<String, ClientDto>> records,
                          Acknowledgment ack,
-                         @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-                         @Header(KafkaHeaders.RECEIVED_KEY) String key) {
+                         Consumer<String, ClientDto> consumer) throws InterruptedException {
         log.debug("Client consumer: Обработка новых сообщений");
 
-
-        try {
-            log.error("Topic: " + topic);
-            log.error("Key: " + key);
-            messageList.stream()
-                    .forEach(System.err::println);
-//            List<Client> clients = messageList.stream()
-//                    .map(dto -> {
-//                        dto.setFirstName(key + "@" + dto.getFirstName());
-//                        return ClientMapper.toEntity(dto);
-//                    })
-//                    .toList();
-//            clientService.registerClients(clients);
-        } finally {
+        if (orderedProcessor != null) {
+            if (!orderedProcessor.process(records, consumer, this::register)) {
+                Thread.sleep(orderedRetryBackoff);
+            }
+        } else {
+            try {
+                register(records.stream()
+                        .map(ConsumerRecord::value)
+                        .toList());
+            } catch (CheckDeadlineExceededException e) {
+                // nothing of the batch is persisted: redeliver it from the first record instead of committing
+                log.warn("Client consumer: {}, пакет будет получен повторно", e.getMessage());
+                ack.nack(0, Duration.ofMillis(retryBackoff));
+                return;
+            }
             ack.acknowledge();
         }
 
+        log.debug("Client consumer: записи обработаны, {} шт.", records.size());
+    }
 
-        log.debug("Client consumer: записи обработаны");
+    private void register(List<ClientDto> messageList) {
+        List<Client> clients = messageList.stream()
+                .filter(Objects::nonNull)
+                .map(ClientMapper::toEntity)
+                .toList();
+        clientService.registerClients(clients);
     }
 }
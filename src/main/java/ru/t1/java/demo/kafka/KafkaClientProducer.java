@@ -1,14 +1,22 @@
 package ru.t1.java.demo.kafka;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 import ru.t1.java.demo.model.dto.ClientDto;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static ru.t1.java.demo.model.enums.Metrics.KAFKA_PRODUCER_FAILURE_COUNT;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -16,31 +24,70 @@ import java.util.UUID;
 public class KafkaClientProducer<T extends ClientDto> {
 
     private final KafkaTemplate template;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> failureCounters = new ConcurrentHashMap<>();
+
+    @Value("${t1.kafka.producer.sync:false}")
+    private boolean sync;
 
+    /**
+     * Sends the id without waiting for the broker unless {@code t1.kafka.producer.sync} is set.
+     */
     public void send(Long clientId) {
-        try {
-            template.sendDefault(UUID.randomUUID().toString(), clientId).get();
+        await(sendAsync(clientId));
+    }
 
-        } catch (Exception ex) {
-            log.error(ex.getMessage(), ex);
-        } finally {
-            template.flush();
-        }
+    /**
+     * Hands the record to the producer buffer and returns immediately, so records are batched
+     * according to {@code linger.ms} and {@code batch.size}.
+     */
+    public CompletableFuture<?> sendAsync(Long clientId) {
+        return logFailure(template.getDefaultTopic(), template.sendDefault(UUID.randomUUID().toString(), clientId));
     }
 
     public void sendTo(String topic, Object o) {
+        await(sendToAsync(topic, o));
+    }
+
+    public CompletableFuture<?> sendToAsync(String topic, Object o) {
+        return CompletableFuture.allOf(
+                logFailure(topic, template.send(topic, o)),
+                logFailure(topic, template.send(topic,
+                        1,
+                        LocalDateTime.now().toEpochSecond(ZoneOffset.of("+03:00")),
+                        UUID.randomUUID().toString(),
+                        o)));
+    }
+
+    /**
+     * Failed sends are logged and counted per topic in {@code t1_java_demo_kafka_producer_failure_count}.
+     */
+    private CompletableFuture<?> logFailure(String topic, CompletableFuture<?> result) {
+        return result.whenComplete((sendResult, ex) -> {
+            if (ex != null) {
+                failureCounter(topic).increment();
+                log.error(ex.getMessage(), ex);
+            }
+        });
+    }
+
+    private Counter failureCounter(String topic) {
+        return failureCounters.computeIfAbsent(String.valueOf(topic), key -> Counter
+                .builder(KAFKA_PRODUCER_FAILURE_COUNT.getValue())
+                .tag("topic", key)
+                .register(meterRegistry));
+    }
+
+    private void await(CompletableFuture<?> result) {
+        if (!sync) {
+            return;
+        }
         try {
-            template.send(topic, o).get();
-            template.send(topic,
-                            1,
-                            LocalDateTime.now().toEpochSecond(ZoneOffset.of("+03:00")),
-                            UUID.randomUUID().toString(),
-                            o)
-                    .get();
+            result.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
         } catch (Exception ex) {
-            log.error(ex.getMessage(), ex);
-        } finally {
-            template.flush();
+            log.debug("Synchronous send failed", ex);
         }
     }
 
@@ -0,0 +1,64 @@
+package ru.t1.java.demo.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+import ru.t1.java.demo.model.dto.TransactionDto;
+import ru.t1.java.demo.service.TransactionService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static ru.t1.java.demo.model.enums.Metrics.TRANSACTION_INGEST_BATCH_LATENCY;
+import static ru.t1.java.demo.model.enums.Metrics.TRANSACTION_INGEST_LAG;
+
+@Slf4j
+@Component
+public class KafkaTransactionConsumer {
+
+    private final TransactionService transactionService;
+    private final Timer batchLatency;
+    private final Timer ingestLag;
+
+    public KafkaTransactionConsumer(TransactionService transactionService, MeterRegistry meterRegistry) {
+        this.transactionService = transactionService;
+        this.batchLatency = Timer.builder(TRANSACTION_INGEST_BATCH_LATENCY.getValue())
+                .description("Time to validate, deduplicate and persist one polled batch")
+                .tag("group", "t1_java")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.ingestLag = Timer.builder(TRANSACTION_INGEST_LAG.getValue())
+                .description("Time from the oldest record timestamp of a batch to its DB commit")
+                .tag("group", "t1_java")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Offsets are acknowledged only after {@link TransactionService#ingest} has committed,
+     * so a failed batch is redelivered and deduplicated by external id on the next attempt.
+     */
+    @KafkaListener(id = "${t1.kafka.consumer.transaction-group-id}",
+            topics = "${t1.kafka.topic.client_transactions}",
+            containerFactory = "transactionListenerContainerFactory")
+    public void listener(List<ConsumerRecord<String, TransactionDto>> records, Acknowledgment ack) {
+        Timer.Sample sample = Timer.start();
+
+        int saved = transactionService.ingest(records.stream()
+                .map(ConsumerRecord::value)
+                .toList());
+        ack.acknowledge();
+
+        sample.stop(batchLatency);
+        records.stream()
+                .mapToLong(ConsumerRecord::timestamp)
+                .filter(timestamp -> timestamp > 0)
+                .min()
+                .ifPresent(oldest -> ingestLag.record(System.currentTimeMillis() - oldest, TimeUnit.MILLISECONDS));
+        log.debug("Transaction consumer: сохранено {} из {} записей", saved, records.size());
+    }
+}
@@ -0,0 +1,136 @@
+package ru.t1.java.demo.kafka;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Processes one poll in parallel on a fixed set of single-threaded lanes. All records with the same key
+ * go to the same lane in offset order, so per-key ordering is kept while different keys run concurrently.
+ * The handler is called once per lane with all of its records, so a poll is handled in at most
+ * {@code laneCount} batches; a failing call fails every record of that lane.
+ * <p>
+ * Only the contiguous prefix of completed offsets of every partition is committed; the consumer is rewound
+ * to the first failed record. Records after it that already succeeded are remembered and skipped when they
+ * are redelivered, so the handler does not see them twice. That memory is local to the instance: after a
+ * restart or a rebalance they are delivered again (at-least-once).
+ */
+@Slf4j
+public class KeyOrderedBatchProcessor<K, V> {
+
+    private final ExecutorService[] lanes;
+    /**
+     * Offsets past the committed position that were already handled, per partition.
+     */
+    private final Map<TopicPartition, Set<Long>> processedAhead = new ConcurrentHashMap<>();
+
+    public KeyOrderedBatchProcessor(int laneCount, String threadNamePrefix) {
+        this.lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = Executors.newSingleThreadExecutor(new CustomizableThreadFactory(threadNamePrefix + i + "-"));
+        }
+    }
+
+    /**
+     * @return {@code true} if every record was processed and committed
+     */
+    public boolean process(List<ConsumerRecord<K, V>> records,
+                           Consumer<?, ?> consumer,
+                           java.util.function.Consumer<List<V>> handler) {
+        Map<Integer, List<ConsumerRecord<K, V>>> byLane = new LinkedHashMap<>();
+        for (ConsumerRecord<K, V> record : records) {
+            if (processedAhead(partition(record)).contains(record.offset())) {
+                log.debug("Запись {}-{}@{} уже обработана, пропуск", record.topic(), record.partition(), record.offset());
+                continue;
+            }
+            byLane.computeIfAbsent(lane(record.key()), lane -> new ArrayList<>()).add(record);
+        }
+
+        Set<ConsumerRecord<K, V>> failed = ConcurrentHashMap.newKeySet();
+        CompletableFuture<?>[] batches = byLane.entrySet().stream()
+                .map(batch -> CompletableFuture.runAsync(() -> {
+                    List<ConsumerRecord<K, V>> laneRecords = batch.getValue();
+                    try {
+                        handler.accept(laneRecords.stream().map(ConsumerRecord::value).toList());
+                    } catch (Exception e) {
+                        log.warn("Ошибка обработки {} записей на линии {}: {}", laneRecords.size(), batch.getKey(),
+                                e.getMessage());
+                        failed.addAll(laneRecords);
+                    }
+                }, lanes[batch.getKey()]))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(batches).join();
+
+        commitContiguous(records, failed, consumer);
+        return failed.isEmpty();
+    }
+
+    public void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    private int lane(K key) {
+        return Math.floorMod(Objects.hashCode(key), lanes.length);
+    }
+
+    private static TopicPartition partition(ConsumerRecord<?, ?> record) {
+        return new TopicPartition(record.topic(), record.partition());
+    }
+
+    private Set<Long> processedAhead(TopicPartition partition) {
+        return processedAhead.computeIfAbsent(partition, tp -> ConcurrentHashMap.newKeySet());
+    }
+
+    private void commitContiguous(List<ConsumerRecord<K, V>> records,
+                                  Set<ConsumerRecord<K, V>> failed,
+                                  Consumer<?, ?> consumer) {
+        Map<TopicPartition, List<ConsumerRecord<K, V>>> byPartition = new HashMap<>();
+        records.forEach(record -> byPartition.computeIfAbsent(partition(record), tp -> new ArrayList<>()).add(record));
+
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        byPartition.forEach((partition, partitionRecords) -> {
+            partitionRecords.sort(Comparator.comparingLong(ConsumerRecord::offset));
+            long commitOffset = partitionRecords.get(partitionRecords.size() - 1).offset() + 1;
+            for (ConsumerRecord<K, V> record : partitionRecords) {
+                if (failed.contains(record)) {
+                    commitOffset = record.offset();
+                    consumer.seek(partition, commitOffset);
+                    break;
+                }
+            }
+            Set<Long> ahead = processedAhead(partition);
+            for (ConsumerRecord<K, V> record : partitionRecords) {
+                if (record.offset() >= commitOffset && !failed.contains(record)) {
+                    ahead.add(record.offset());
+                }
+            }
+            long committed = commitOffset;
+            ahead.removeIf(offset -> offset < committed);
+            if (commitOffset > partitionRecords.get(0).offset()) {
+                offsets.put(partition, new OffsetAndMetadata(commitOffset));
+            }
+        });
+
+        if (!offsets.isEmpty()) {
+            consumer.commitSync(offsets);
+        }
+    }
+}
@@ -1,46 +1,107 @@
 package ru.t1.java.demo.kafka;
 
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.config.ConfigException;
 import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
-import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import ru.t1.java.demo.model.dto.ClientDto;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import static ru.t1.java.demo.model.enums.Metrics.KAFKA_DESERIALIZATION_FAILURE_COUNT;
+
+/**
+ * Reads JSON straight from the record bytes with a cached {@link ObjectReader} of the type configured
+ * by {@link JsonDeserializer#VALUE_DEFAULT_TYPE} ({@link ClientDto} by default).
+ * Broken records are counted and returned as {@code null}; their payload is rendered only for DEBUG.
+ * The counters go to the {@link MeterRegistry} given to the constructor or passed in the consumer config
+ * under {@link #METER_REGISTRY_CONFIG}.
+ */
 @Slf4j
-@Component
-@RequiredArgsConstructor
-public class MessageDeserializer<T> extends JsonDeserializer<T> {
+@NoArgsConstructor
+public class MessageDeserializer<T> implements Deserializer<T> {
 
-//    private final ObjectMapper objectMapper;
+    public static final String METER_REGISTRY_CONFIG = "t1.meter-registry";
 
-    private static String getMessage(byte[] data) {
-        return new String(data, StandardCharsets.UTF_8);
-    }
+    private static final int PAYLOAD_LOG_LIMIT = 512;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
 
-    @Override
-    public T deserialize(String topic, Headers headers, byte[] data) {
-        try {
+    private final Map<String, Counter> failureCounters = new ConcurrentHashMap<>();
+    private ObjectReader reader = reader(ClientDto.class);
+    private MeterRegistry meterRegistry;
 
-//            objectMapper.readValue(getMessage(data), ClientDto.class);
+    public MessageDeserializer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
 
-            return super.deserialize(topic, headers, data);
-        } catch (Exception e) {
-            log.warn("Произошла ошибка во время десериализации сообщения {}", new String(data, StandardCharsets.UTF_8), e);
-            return null;
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        if (configs.get(METER_REGISTRY_CONFIG) instanceof MeterRegistry registry) {
+            meterRegistry = registry;
+        } else if (meterRegistry == null) {
+            throw new ConfigException(METER_REGISTRY_CONFIG, configs.get(METER_REGISTRY_CONFIG),
+                    "MeterRegistry для счётчика ошибок десериализации не задан");
+        }
+        Object type = configs.get(isKey ? JsonDeserializer.KEY_DEFAULT_TYPE : JsonDeserializer.VALUE_DEFAULT_TYPE);
+        if (type instanceof Class<?> clazz) {
+            reader = reader(clazz);
+        } else if (type instanceof String className) {
+            reader = reader(ClassUtils.resolveClassName(className, getClass().getClassLoader()));
         }
     }
 
+    @Override
+    public T deserialize(String topic, Headers headers, byte[] data) {
+        return deserialize(topic, data);
+    }
+
     @Override
     public T deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
         try {
-            return super.deserialize(topic, data);
-        } catch (Exception e) {
-            log.warn("Произошла ошибка во время десериализации сообщения {}",
-                    new String(data, StandardCharsets.UTF_8), e);
+            return reader.readValue(data);
+        } catch (IOException e) {
+            failureCounter(topic).increment();
+            if (log.isDebugEnabled()) {
+                log.debug("Произошла ошибка во время десериализации сообщения {}", preview(data), e);
+            }
             return null;
         }
     }
 
+    private Counter failureCounter(String topic) {
+        Counter counter = failureCounters.get(topic);
+        if (counter == null) {
+            counter = failureCounters.computeIfAbsent(topic, key -> Counter
+                    .builder(KAFKA_DESERIALIZATION_FAILURE_COUNT.getValue())
+                    .tag("topic", key)
+                    .register(meterRegistry));
+        }
+        return counter;
+    }
+
+    private static String preview(byte[] data) {
+        if (data.length <= PAYLOAD_LOG_LIMIT) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+        return new String(data, 0, PAYLOAD_LOG_LIMIT, StandardCharsets.UTF_8) + "... (" + data.length + " bytes)";
+    }
+
+    private static ObjectReader reader(Class<?> type) {
+        return READERS.computeIfAbsent(type, OBJECT_MAPPER::readerFor);
+    }
+
 }
@@ -0,0 +1,102 @@
+package ru.t1.java.demo.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.EmitStrategy;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.Produced;
+import org.apache.kafka.streams.kstream.SlidingWindows;
+import org.apache.kafka.streams.state.WindowStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.support.serializer.JsonSerde;
+import org.springframework.stereotype.Component;
+import ru.t1.java.demo.model.dto.TransactionDto;
+import ru.t1.java.demo.model.dto.TransactionVelocity;
+import ru.t1.java.demo.model.dto.VelocityAlertDto;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static ru.t1.java.demo.config.KafkaStreamsConfig.transactionSerde;
+
+/**
+ * Counts and sums each client's transactions over sliding 1-minute and 1-hour windows.
+ * Once a window closes, clients above the configured thresholds are written to the alert topic.
+ * Windows are emitted straight from the window store on close, so no in-memory suppression buffer is kept,
+ * and the stores retain only twice the window size plus grace.
+ */
+@Component
+@ConditionalOnProperty(value = "t1.kafka.streams.enabled", havingValue = "true")
+public class TransactionVelocityTopology {
+
+    @Value("${t1.kafka.topic.client_transactions}")
+    private String transactionTopic;
+    @Value("${t1.kafka.topic.client_velocity_alerts}")
+    private String alertTopic;
+    @Value("${t1.kafka.streams.velocity.grace:30000}")
+    private long grace;
+    @Value("${t1.kafka.streams.velocity.minute.max-count:10}")
+    private long minuteMaxCount;
+    @Value("${t1.kafka.streams.velocity.minute.max-amount:100000}")
+    private BigDecimal minuteMaxAmount;
+    @Value("${t1.kafka.streams.velocity.hour.max-count:100}")
+    private long hourMaxCount;
+    @Value("${t1.kafka.streams.velocity.hour.max-amount:1000000}")
+    private BigDecimal hourMaxAmount;
+
+    @Autowired
+    public void buildPipeline(StreamsBuilder streamsBuilder, MeterRegistry meterRegistry) {
+        Serde<TransactionDto> transactionSerde = transactionSerde(meterRegistry);
+        KStream<String, TransactionDto> transactions = streamsBuilder
+                .stream(transactionTopic, Consumed.with(Serdes.String(), transactionSerde))
+                .filter((key, transaction) -> transaction != null
+                        && transaction.getClientId() != null
+                        && transaction.getAmount() != null)
+                .selectKey((key, transaction) -> transaction.getClientId().toString());
+
+        detect(transactions, transactionSerde, "1m", Duration.ofMinutes(1), minuteMaxCount, minuteMaxAmount);
+        detect(transactions, transactionSerde, "1h", Duration.ofHours(1), hourMaxCount, hourMaxAmount);
+    }
+
+    private void detect(KStream<String, TransactionDto> transactions, Serde<TransactionDto> transactionSerde,
+                        String window, Duration size, long maxCount, BigDecimal maxAmount) {
+        Duration graceDuration = Duration.ofMillis(grace);
+        transactions
+                .groupByKey(Grouped.<String, TransactionDto>as("client-velocity-" + window)
+                        .withKeySerde(Serdes.String())
+                        .withValueSerde(transactionSerde))
+                .windowedBy(SlidingWindows.ofTimeDifferenceAndGrace(size, graceDuration))
+                .emitStrategy(EmitStrategy.onWindowClose())
+                .aggregate(TransactionVelocity::new,
+                        (clientId, transaction, velocity) -> velocity.add(transaction.getAmount()),
+                        Materialized.<String, TransactionVelocity, WindowStore<Bytes, byte[]>>as("client-velocity-" + window + "-store")
+                                .withKeySerde(Serdes.String())
+                                .withValueSerde(velocitySerde())
+                                .withRetention(size.multipliedBy(2).plus(graceDuration)))
+                .toStream()
+                .filter((windowed, velocity) -> velocity != null
+                        && (velocity.getCount() > maxCount || velocity.getAmount().compareTo(maxAmount) > 0))
+                .map((windowed, velocity) -> KeyValue.pair(windowed.key(), VelocityAlertDto.builder()
+                        .clientId(Long.valueOf(windowed.key()))
+                        .window(window)
+                        .windowStart(windowed.window().start())
+                        .windowEnd(windowed.window().end())
+                        .count(velocity.getCount())
+                        .amount(velocity.getAmount())
+                        .build()))
+                .to(alertTopic, Produced.with(Serdes.String(), new JsonSerde<>(VelocityAlertDto.class).noTypeInfo()));
+    }
+
+    private static JsonSerde<TransactionVelocity> velocitySerde() {
+        return new JsonSerde<>(TransactionVelocity.class).noTypeInfo().ignoreTypeHeaders();
+    }
+}
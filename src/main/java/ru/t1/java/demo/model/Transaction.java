@@ -21,4 +21,16 @@ public class Transaction extends AbstractPersistable<Long> {
     @Column(name = "client_id")
     private Long clientId;
 
+    @Column(name = "external_id", unique = true)
+    private String externalId;
+
+    @Override
+    public Long getId() {
+        return super.getId();
+    }
+
+    @Override
+    public void setId(Long id) {
+        super.setId(id);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package ru.t1.java.demo.model.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkSignupRequest {
+
+    @NotEmpty
+    @Size(max = 10000)
+    private List<@Valid SignupRequest> users;
+
+}
@@ -0,0 +1,21 @@
+package ru.t1.java.demo.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkSignupResponse {
+
+    private int created;
+
+    /**
+     * Rejected usernames with the reason.
+     */
+    private Map<String, String> rejected;
+
+}
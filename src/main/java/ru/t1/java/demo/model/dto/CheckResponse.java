@@ -10,5 +10,6 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Builder
 public class CheckResponse {
+    private Integer clientId;
     private Boolean blocked;
 }
@@ -0,0 +1,23 @@
+package ru.t1.java.demo.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ClientBalanceResponse {
+
+    @JsonProperty("client_id")
+    private Long clientId;
+
+    @JsonProperty("balance")
+    private BigDecimal balance;
+
+}
@@ -0,0 +1,31 @@
+package ru.t1.java.demo.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for {@link ru.t1.java.demo.model.Transaction}
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Builder
+public class TransactionDto {
+
+    @JsonProperty("external_id")
+    private String externalId;
+
+    @JsonProperty("client_id")
+    private Long clientId;
+
+    @JsonProperty("amount")
+    private BigDecimal amount;
+
+}
@@ -0,0 +1,24 @@
+package ru.t1.java.demo.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Number and total amount of a client's transactions within one window.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionVelocity {
+
+    private long count;
+
+    private BigDecimal amount = BigDecimal.ZERO;
+
+    public TransactionVelocity add(BigDecimal transactionAmount) {
+        return new TransactionVelocity(count + 1, amount.add(transactionAmount));
+    }
+}
@@ -0,0 +1,40 @@
+package ru.t1.java.demo.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * A client whose transaction count or amount exceeded the threshold of a window.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Builder
+public class VelocityAlertDto {
+
+    @JsonProperty("client_id")
+    private Long clientId;
+
+    @JsonProperty("window")
+    private String window;
+
+    @JsonProperty("window_start")
+    private Long windowStart;
+
+    @JsonProperty("window_end")
+    private Long windowEnd;
+
+    @JsonProperty("count")
+    private Long count;
+
+    @JsonProperty("amount")
+    private BigDecimal amount;
+
+}
@@ -0,0 +1,13 @@
+package ru.t1.java.demo.model.enums;
+
+/**
+ * What a client check returns while the check service is not permitted to be called.
+ */
+public enum CheckFallbackPolicy {
+    /** Serve the last decision received for the client, reject if there is none. */
+    LAST_KNOWN,
+    /** Park the client and register it again once the circuit recovers. */
+    QUEUE,
+    /** Fail fast with {@link ru.t1.java.demo.exception.CheckUnavailableException}. */
+    REJECT
+}
@@ -4,7 +4,17 @@ import lombok.Getter;
 
 @Getter
 public enum Metrics {
-    CLIENT_CONTROLLER_REQUEST_COUNT("t1_java_demo_client_controller_request_count");
+    CLIENT_CONTROLLER_REQUEST_COUNT("t1_java_demo_client_controller_request_count"),
+    KAFKA_DESERIALIZATION_FAILURE_COUNT("t1_java_demo_kafka_deserialization_failure_count"),
+    KAFKA_PRODUCER_FAILURE_COUNT("t1_java_demo_kafka_producer_failure_count"),
+    TRANSACTION_INGEST_LAG("t1_java_demo_transaction_ingest_lag"),
+    TRANSACTION_INGEST_BATCH_LATENCY("t1_java_demo_transaction_ingest_batch_latency"),
+    TRANSACTION_INGEST_REJECTED_COUNT("t1_java_demo_transaction_ingest_rejected_count"),
+    TRACK_METHOD_DURATION("t1_java_demo_track_method_duration"),
+    WEB_CLIENT_ATTEMPT_DURATION("t1_java_demo_web_client_attempt_duration"),
+    WEB_CLIENT_ATTEMPT_COUNT("t1_java_demo_web_client_attempt_count"),
+    WEB_CLIENT_REQUEST_COUNT("t1_java_demo_web_client_request_count"),
+    VIRTUAL_THREAD_PINNED_DURATION("t1_java_demo_virtual_thread_pinned_duration");
 
     private final String value;
 
@@ -0,0 +1,14 @@
+package ru.t1.java.demo.repository;
+
+import ru.t1.java.demo.model.Client;
+
+import java.util.List;
+
+public interface ClientBulkRepository {
+
+    /**
+     * Persists new clients in JDBC batches of {@code hibernate.jdbc.batch_size}, flushing and clearing
+     * the persistence context after every batch so memory stays flat for large inputs.
+     */
+    List<Client> persistAll(List<Client> clients);
+}
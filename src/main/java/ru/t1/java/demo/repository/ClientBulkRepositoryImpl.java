@@ -0,0 +1,33 @@
+package ru.t1.java.demo.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+import ru.t1.java.demo.model.Client;
+
+import java.util.List;
+
+public class ClientBulkRepositoryImpl implements ClientBulkRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    @Transactional
+    public List<Client> persistAll(List<Client> clients) {
+        for (int i = 0; i < clients.size(); i++) {
+            entityManager.persist(clients.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return clients;
+    }
+}
@@ -0,0 +1,56 @@
+package ru.t1.java.demo.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.t1.java.demo.model.Client;
+
+import java.sql.Types;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class ClientJdbcRepository {
+
+    static final String CLIENT_SEQUENCE = "client_seq";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO client (id, first_name, last_name, middle_name, blocked_for, blocked_whom, client_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceIdAllocator idAllocator;
+
+    @Value("${t1.kafka.consumer.max.poll.records:500}")
+    private int batchSize;
+
+    /**
+     * Inserts all clients in one transaction with JDBC batches of {@code max.poll.records} rows,
+     * so a whole poll is written in a single round-trip. Ids are assigned to clients that have none.
+     */
+    @Transactional
+    public List<Client> batchInsert(List<Client> clients) {
+        long[] ids = idAllocator.allocate(CLIENT_SEQUENCE, (int) clients.stream()
+                .filter(client -> client.getId() == null)
+                .count());
+        int next = 0;
+        for (Client client : clients) {
+            if (client.getId() == null) {
+                client.setId(ids[next++]);
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, clients, batchSize, (ps, client) -> {
+            ps.setLong(1, client.getId());
+            ps.setString(2, client.getFirstName());
+            ps.setString(3, client.getLastName());
+            ps.setString(4, client.getMiddleName());
+            ps.setObject(5, client.getBlockedFor(), Types.BOOLEAN);
+            ps.setString(6, client.getBlockedWhom());
+            ps.setObject(7, client.getClientId(), Types.INTEGER);
+        });
+        return clients;
+    }
+}
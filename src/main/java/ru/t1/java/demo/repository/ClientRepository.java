@@ -13,7 +13,7 @@ import java.util.Optional;
 import static org.springframework.transaction.annotation.Propagation.NOT_SUPPORTED;
 
 @Repository
-public interface ClientRepository extends JpaRepository<Client, Long> {
+public interface ClientRepository extends JpaRepository<Client, Long>, ClientBulkRepository {
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Override
@@ -0,0 +1,78 @@
+package ru.t1.java.demo.repository;
+
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.jdbc.support.incrementer.DataFieldMaxValueIncrementer;
+import org.springframework.jdbc.support.incrementer.H2SequenceMaxValueIncrementer;
+import org.springframework.jdbc.support.incrementer.PostgresSequenceMaxValueIncrementer;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out ids for JDBC batch inserts using pooled-lo semantics: every {@code nextval}
+ * reserves the block {@code [value, value + ALLOCATION_SIZE)}, so one sequence round-trip
+ * covers {@link #ALLOCATION_SIZE} rows.
+ */
+@Component
+public class SequenceIdAllocator {
+
+    /**
+     * Must match {@code incrementBy} of the {@code *_seq} sequences created by Liquibase.
+     */
+    public static final int ALLOCATION_SIZE = 50;
+
+    private final DataSource dataSource;
+    private final Map<String, IdPool> pools = new ConcurrentHashMap<>();
+
+    public SequenceIdAllocator(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public long[] allocate(String sequenceName, int count) {
+        return pools.computeIfAbsent(sequenceName, name -> new IdPool(incrementer(name)))
+                .allocate(count);
+    }
+
+    private DataFieldMaxValueIncrementer incrementer(String sequenceName) {
+        DatabaseDriver driver;
+        try {
+            driver = DatabaseDriver.fromProductName(
+                    JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Unable to detect database for sequence " + sequenceName, e);
+        }
+        return switch (driver) {
+            case POSTGRESQL -> new PostgresSequenceMaxValueIncrementer(dataSource, sequenceName);
+            case H2 -> new H2SequenceMaxValueIncrementer(dataSource, sequenceName);
+            default -> throw new IllegalStateException("Unsupported database " + driver + " for sequence " + sequenceName);
+        };
+    }
+
+    private static final class IdPool {
+
+        private final DataFieldMaxValueIncrementer incrementer;
+        private long next;
+        private long limit;
+
+        private IdPool(DataFieldMaxValueIncrementer incrementer) {
+            this.incrementer = incrementer;
+        }
+
+        synchronized long[] allocate(int count) {
+            long[] ids = new long[count];
+            for (int i = 0; i < count; i++) {
+                if (next == limit) {
+                    next = incrementer.nextLongValue();
+                    limit = next + ALLOCATION_SIZE;
+                }
+                ids[i] = next++;
+            }
+            return ids;
+        }
+    }
+}
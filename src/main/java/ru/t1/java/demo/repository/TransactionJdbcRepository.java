@@ -0,0 +1,69 @@
+package ru.t1.java.demo.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.t1.java.demo.model.Transaction;
+
+import java.sql.Types;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Repository
+@RequiredArgsConstructor
+public class TransactionJdbcRepository {
+
+    static final String TRANSACTION_SEQUENCE = "transaction_seq";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO transaction (id, amount, client_id, external_id)
+            VALUES (?, ?, ?, ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceIdAllocator idAllocator;
+
+    @Value("${t1.kafka.consumer.max.poll.records:500}")
+    private int batchSize;
+
+    /**
+     * Inserts all transactions in one transaction with JDBC batches of {@code max.poll.records} rows.
+     * Ids are assigned to transactions that have none.
+     */
+    @Transactional
+    public List<Transaction> batchInsert(List<Transaction> transactions) {
+        long[] ids = idAllocator.allocate(TRANSACTION_SEQUENCE, (int) transactions.stream()
+                .filter(transaction -> transaction.getId() == null)
+                .count());
+        int next = 0;
+        for (Transaction transaction : transactions) {
+            if (transaction.getId() == null) {
+                transaction.setId(ids[next++]);
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, transactions, batchSize, (ps, transaction) -> {
+            ps.setLong(1, transaction.getId());
+            ps.setBigDecimal(2, transaction.getAmount());
+            ps.setObject(3, transaction.getClientId(), Types.BIGINT);
+            ps.setString(4, transaction.getExternalId());
+        });
+        return transactions;
+    }
+
+    /**
+     * Returns those of the given external ids that are already stored, with one query per call.
+     */
+    public Set<String> findExistingExternalIds(Collection<String> externalIds) {
+        if (externalIds.isEmpty()) {
+            return Set.of();
+        }
+        String sql = "SELECT external_id FROM transaction WHERE external_id IN ("
+                + String.join(",", Collections.nCopies(externalIds.size(), "?")) + ")";
+        return new HashSet<>(jdbcTemplate.queryForList(sql, String.class, externalIds.toArray()));
+    }
+}
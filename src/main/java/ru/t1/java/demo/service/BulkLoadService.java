@@ -0,0 +1,18 @@
+package ru.t1.java.demo.service;
+
+import reactor.core.publisher.Flux;
+import ru.t1.java.demo.model.Client;
+import ru.t1.java.demo.model.Transaction;
+
+public interface BulkLoadService {
+
+    /**
+     * Streams clients into the {@code client} table and returns the number of loaded rows.
+     */
+    long loadClients(Flux<Client> clients);
+
+    /**
+     * Streams transactions into the {@code transaction} table and returns the number of loaded rows.
+     */
+    long loadTransactions(Flux<Transaction> transactions);
+}
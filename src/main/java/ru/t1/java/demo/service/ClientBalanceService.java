@@ -0,0 +1,13 @@
+package ru.t1.java.demo.service;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+public interface ClientBalanceService {
+
+    /**
+     * Reads the balance from the local state store, or from the instance owning the client key
+     * unless the request was already forwarded.
+     */
+    Optional<BigDecimal> getBalance(Long clientId, boolean forwarded);
+}
@@ -0,0 +1,14 @@
+package ru.t1.java.demo.service;
+
+import org.springframework.batch.core.JobExecutionException;
+
+public interface ClientImportService {
+
+    /**
+     * Starts (or restarts after a failure) the import of a file from the import directory
+     * and returns the job execution id.
+     *
+     * @throws IllegalArgumentException if {@code fileName} is not a regular file in the import directory
+     */
+    Long startImport(String fileName) throws JobExecutionException;
+}
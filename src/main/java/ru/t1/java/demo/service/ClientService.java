@@ -1,16 +1,36 @@
 package ru.t1.java.demo.service;
 
+import org.springframework.core.io.Resource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.t1.java.demo.model.Client;
 import ru.t1.java.demo.model.dto.ClientDto;
 
 import java.util.List;
 
 public interface ClientService {
+    /**
+     * Registers the clients allowed by the check service.
+     *
+     * @throws ru.t1.java.demo.exception.CheckDeadlineExceededException if not every client was checked
+     *                                                                  within {@code integration.check.batch-timeout}
+     */
     List<Client> registerClients(List<Client> clients);
 
+    /**
+     * Non-blocking variant of {@link #registerClients(List)}: checks, persistence and Kafka
+     * sends are composed without holding the calling thread.
+     */
+    Mono<List<Client>> registerClientsAsync(List<Client> clients);
+
     Client registerClient(Client client);
 
     List<ClientDto> parseJson();
 
+    /**
+     * Streams a JSON array of clients in chunks of {@code chunkSize} without loading the whole source.
+     */
+    Flux<List<ClientDto>> streamJson(Resource source, int chunkSize);
+
     void clearMiddleName(List<ClientDto> dtos);
 }
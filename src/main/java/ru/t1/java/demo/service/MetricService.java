@@ -1,5 +1,28 @@
 package ru.t1.java.demo.service;
 
+import io.micrometer.core.instrument.Timer;
+import ru.t1.java.demo.model.enums.Metrics;
+import ru.t1.java.demo.service.metrics.MetricCounter;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Named meters, created on first use and registered once. Tags are given as key/value pairs.
+ * Once a meter is registered, looking it up again by name and tags does not allocate.
+ */
 public interface MetricService {
+
     void incrementByName(String name);
+
+    void increment(Metrics metric);
+
+    MetricCounter counter(String name, String... tags);
+
+    Timer timer(String name, String... tags);
+
+    /**
+     * Registers a gauge reading {@code valueFunction} from {@code state} and returns the state object
+     * that backs the gauge: the first one registered for this name and tags.
+     */
+    <T> T gauge(String name, T state, ToDoubleFunction<T> valueFunction, String... tags);
 }
@@ -0,0 +1,15 @@
+package ru.t1.java.demo.service;
+
+import ru.t1.java.demo.model.dto.JwtResponse;
+import ru.t1.java.demo.model.dto.LoginRequest;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface SigninService {
+
+    /**
+     * Authenticates on the signin executor. Throws {@link java.util.concurrent.RejectedExecutionException}
+     * right away when the executor queue is full.
+     */
+    CompletableFuture<JwtResponse> signin(LoginRequest loginRequest);
+}
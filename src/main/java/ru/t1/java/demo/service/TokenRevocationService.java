@@ -0,0 +1,16 @@
+package ru.t1.java.demo.service;
+
+import java.util.Date;
+
+public interface TokenRevocationService {
+
+    /**
+     * Invalidates every token issued to the user so far, e.g. on logout or after a role change.
+     */
+    void revokeUser(Long userId);
+
+    /**
+     * @param issuedAt token issue time with millisecond precision
+     */
+    boolean isRevoked(Long userId, Date issuedAt);
+}
@@ -1,4 +1,14 @@
 package ru.t1.java.demo.service;
 
+import ru.t1.java.demo.model.dto.TransactionDto;
+
+import java.util.List;
+
 public interface TransactionService {
+
+    /**
+     * Validates and deduplicates the batch by external id, persists the new transactions
+     * and returns how many were stored.
+     */
+    int ingest(List<TransactionDto> transactions);
 }
@@ -0,0 +1,14 @@
+package ru.t1.java.demo.service;
+
+import ru.t1.java.demo.model.dto.BulkSignupResponse;
+import ru.t1.java.demo.model.dto.SignupRequest;
+
+import java.util.List;
+
+public interface UserProvisioningService {
+
+    /**
+     * Creates all users of the batch whose login and email are not taken yet; the others are reported as rejected.
+     */
+    BulkSignupResponse provision(List<SignupRequest> requests);
+}
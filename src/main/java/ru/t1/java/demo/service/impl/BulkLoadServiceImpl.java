@@ -0,0 +1,155 @@
+package ru.t1.java.demo.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import ru.t1.java.demo.model.Client;
+import ru.t1.java.demo.model.Transaction;
+import ru.t1.java.demo.repository.ClientJdbcRepository;
+import ru.t1.java.demo.repository.SequenceIdAllocator;
+import ru.t1.java.demo.repository.TransactionJdbcRepository;
+import ru.t1.java.demo.service.BulkLoadService;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Loads rows with {@code COPY ... FROM STDIN} on PostgreSQL and with batched INSERTs elsewhere (H2).
+ * The source is pulled in chunks with a bounded prefetch, so a fast producer is held back by the database.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkLoadServiceImpl implements BulkLoadService {
+
+    private static final String CLIENT_COPY_SQL = """
+            COPY client (id, first_name, last_name, middle_name, blocked_for, blocked_whom, client_id)
+            FROM STDIN WITH (FORMAT csv)""";
+    private static final String TRANSACTION_COPY_SQL = """
+            COPY transaction (id, amount, client_id, external_id)
+            FROM STDIN WITH (FORMAT csv)""";
+
+    private final DataSource dataSource;
+    private final SequenceIdAllocator idAllocator;
+    private final ClientJdbcRepository clientJdbcRepository;
+    private final TransactionJdbcRepository transactionJdbcRepository;
+
+    @Value("${t1.bulk-load.chunk-size:1000}")
+    private int chunkSize;
+    @Value("${t1.bulk-load.prefetch:4}")
+    private int prefetch;
+
+    private volatile Boolean copySupported;
+
+    @Override
+    @Transactional
+    public long loadClients(Flux<Client> clients) {
+        if (!copySupported()) {
+            return insert(clients, clientJdbcRepository::batchInsert);
+        }
+        return copy(clients, CLIENT_COPY_SQL, "client_seq", Client::getId, Client::setId, client -> new Object[]{
+                client.getId(), client.getFirstName(), client.getLastName(), client.getMiddleName(),
+                client.getBlockedFor(), client.getBlockedWhom(), client.getClientId()});
+    }
+
+    @Override
+    @Transactional
+    public long loadTransactions(Flux<Transaction> transactions) {
+        if (!copySupported()) {
+            return insert(transactions, transactionJdbcRepository::batchInsert);
+        }
+        return copy(transactions, TRANSACTION_COPY_SQL, "transaction_seq", Transaction::getId, Transaction::setId,
+                transaction -> new Object[]{transaction.getId(), transaction.getAmount(), transaction.getClientId(),
+                        transaction.getExternalId()});
+    }
+
+    private <T> long insert(Flux<T> rows, Consumer<List<T>> batchInsert) {
+        long count = 0;
+        for (List<T> chunk : rows.buffer(chunkSize).toIterable(prefetch)) {
+            batchInsert.accept(chunk);
+            count += chunk.size();
+        }
+        log.debug("Загружено {} строк через batch insert", count);
+        return count;
+    }
+
+    /**
+     * One COPY per chunk: the chunk's ids come from the sequence on the same transactional connection,
+     * and PostgreSQL does not run other statements on a connection while a COPY is open.
+     */
+    private <T> long copy(Flux<T> rows, String copySql, String sequenceName,
+                          Function<T, Long> idGetter, BiConsumer<T, Long> idSetter, Function<T, Object[]> columns) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            long count = 0;
+            for (List<T> chunk : rows.buffer(chunkSize).toIterable(prefetch)) {
+                long[] ids = idAllocator.allocate(sequenceName, (int) chunk.stream()
+                        .filter(row -> idGetter.apply(row) == null)
+                        .count());
+                int next = 0;
+                StringBuilder csv = new StringBuilder();
+                for (T row : chunk) {
+                    if (idGetter.apply(row) == null) {
+                        idSetter.accept(row, ids[next++]);
+                    }
+                    appendCsvLine(csv, columns.apply(row));
+                }
+                count += copyManager.copyIn(copySql,
+                        new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+            }
+            log.debug("Загружено {} строк через COPY", count);
+            return count;
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("COPY failed: " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Unquoted empty fields are read as NULL by COPY, so every non-null value is quoted.
+     */
+    static void appendCsvLine(StringBuilder csv, Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                csv.append(',');
+            }
+            if (values[i] != null) {
+                csv.append('"').append(values[i].toString().replace("\"", "\"\"")).append('"');
+            }
+        }
+        csv.append('\n');
+    }
+
+    private boolean copySupported() {
+        if (copySupported != null) {
+            return copySupported;
+        }
+        try {
+            copySupported = DatabaseDriver.fromProductName(JdbcUtils.extractDatabaseMetaData(
+                    dataSource, DatabaseMetaData::getDatabaseProductName)) == DatabaseDriver.POSTGRESQL;
+            return copySupported;
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Unable to detect database for bulk load", e);
+        }
+    }
+}
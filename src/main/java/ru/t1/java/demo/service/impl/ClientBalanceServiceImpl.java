@@ -0,0 +1,63 @@
+package ru.t1.java.demo.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.state.HostInfo;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.streams.KafkaStreamsInteractiveQueryService;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import ru.t1.java.demo.model.dto.ClientBalanceResponse;
+import ru.t1.java.demo.service.ClientBalanceService;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+
+import static ru.t1.java.demo.kafka.ClientBalanceTopology.BALANCE_STORE;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(value = "t1.kafka.streams.enabled", havingValue = "true")
+public class ClientBalanceServiceImpl implements ClientBalanceService {
+
+    public static final String FORWARDED_HEADER = "X-Balance-Forwarded";
+
+    private final KafkaStreamsInteractiveQueryService queryService;
+    private final WebClient webClient;
+
+    @Value("${t1.kafka.streams.forward-timeout:2000}")
+    private long forwardTimeout;
+
+    public ClientBalanceServiceImpl(KafkaStreamsInteractiveQueryService queryService, WebClient.Builder webClientBuilder) {
+        this.queryService = queryService;
+        this.webClient = webClientBuilder.build();
+    }
+
+    @Override
+    public Optional<BigDecimal> getBalance(Long clientId, boolean forwarded) {
+        String key = clientId.toString();
+        HostInfo owner = queryService.getKafkaStreamsApplicationHostInfo(BALANCE_STORE, key, Serdes.String().serializer());
+        if (forwarded || owner == null || owner.equals(queryService.getCurrentKafkaStreamsApplicationHostInfo())) {
+            ReadOnlyKeyValueStore<String, BigDecimal> store =
+                    queryService.retrieveQueryableStore(BALANCE_STORE, QueryableStoreTypes.keyValueStore());
+            return Optional.ofNullable(store.get(key));
+        }
+
+        log.debug("Баланс клиента {} запрашивается у {}:{}", clientId, owner.host(), owner.port());
+        return webClient.get()
+                .uri("http://{host}:{port}/clients/{id}/balance", owner.host(), owner.port(), clientId)
+                .header(FORWARDED_HEADER, Boolean.TRUE.toString())
+                .retrieve()
+                .bodyToMono(ClientBalanceResponse.class)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty())
+                .timeout(Duration.ofMillis(forwardTimeout))
+                .blockOptional()
+                .map(ClientBalanceResponse::getBalance);
+    }
+}
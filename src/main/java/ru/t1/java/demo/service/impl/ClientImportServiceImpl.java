@@ -0,0 +1,114 @@
+package ru.t1.java.demo.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionException;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import ru.t1.java.demo.batch.ClientImportFormat;
+import ru.t1.java.demo.service.ClientImportService;
+
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static ru.t1.java.demo.config.ClientImportJobConfig.FORMAT_PARAMETER;
+import static ru.t1.java.demo.config.ClientImportJobConfig.JOB_NAME;
+import static ru.t1.java.demo.config.ClientImportJobConfig.SOURCE_PARAMETER;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClientImportServiceImpl implements ClientImportService {
+
+    private final JobRepository jobRepository;
+    private final JobExplorer jobExplorer;
+    private final Job clientImportJob;
+
+    @Value("${t1.batch.client-import.directory:import}")
+    private String importDirectory;
+
+    @Override
+    public Long startImport(String fileName) throws JobExecutionException {
+        Path source = resolveSource(fileName);
+        JobExecution execution = launcher().run(clientImportJob, new JobParametersBuilder()
+                .addString(SOURCE_PARAMETER, source.toString())
+                .addString(FORMAT_PARAMETER, ClientImportFormat.fromSource(fileName).name())
+                .toJobParameters());
+        log.info("Client import {} started, execution {}", source, execution.getId());
+        return execution.getId();
+    }
+
+    /**
+     * Accepts only a plain file name and resolves it inside {@code t1.batch.client-import.directory}.
+     * Paths, URLs, symbolic links and anything that is not a regular file are rejected.
+     */
+    Path resolveSource(String fileName) {
+        Path directory = Path.of(importDirectory).toAbsolutePath().normalize();
+        if (fileName == null || fileName.isBlank()) {
+            throw new IllegalArgumentException("Import file name is empty");
+        }
+        Path source;
+        try {
+            source = directory.resolve(fileName).normalize();
+        } catch (InvalidPathException e) {
+            throw new IllegalArgumentException("Invalid import file name: " + fileName, e);
+        }
+        if (!directory.equals(source.getParent())
+            || !fileName.equals(source.getFileName().toString())
+            || !Files.isRegularFile(source, LinkOption.NOFOLLOW_LINKS)) {
+            throw new IllegalArgumentException("Import file not found: " + fileName);
+        }
+        return source;
+    }
+
+    /**
+     * Executions that were running when the previous instance stopped are marked as failed,
+     * so the same import can be restarted from its last committed chunk.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedImports() {
+        for (JobExecution execution : jobExplorer.findRunningJobExecutions(JOB_NAME)) {
+            LocalDateTime now = LocalDateTime.now();
+            for (StepExecution step : execution.getStepExecutions()) {
+                if (step.getStatus().isRunning()) {
+                    step.setStatus(BatchStatus.FAILED);
+                    step.setExitStatus(ExitStatus.FAILED);
+                    step.setEndTime(now);
+                    jobRepository.update(step);
+                }
+            }
+            execution.setStatus(BatchStatus.FAILED);
+            execution.setExitStatus(ExitStatus.FAILED.addExitDescription("Interrupted by application shutdown"));
+            execution.setEndTime(now);
+            jobRepository.update(execution);
+            log.warn("Client import execution {} was interrupted and marked as failed", execution.getId());
+        }
+    }
+
+    private TaskExecutorJobLauncher launcher() throws JobExecutionException {
+        TaskExecutorJobLauncher launcher = new TaskExecutorJobLauncher();
+        launcher.setJobRepository(jobRepository);
+        launcher.setTaskExecutor(new SimpleAsyncTaskExecutor("client-import-launcher-"));
+        try {
+            launcher.afterPropertiesSet();
+        } catch (Exception e) {
+            throw new JobExecutionException(e.getMessage(), e);
+        }
+        return launcher;
+    }
+}
@@ -1,43 +1,219 @@
 package ru.t1.java.demo.service.impl;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import ru.t1.java.demo.exception.CheckDeadlineExceededException;
+import ru.t1.java.demo.exception.CheckUnavailableException;
 import ru.t1.java.demo.kafka.KafkaClientProducer;
 import ru.t1.java.demo.model.Client;
 import ru.t1.java.demo.model.dto.CheckResponse;
 import ru.t1.java.demo.model.dto.ClientDto;
-import ru.t1.java.demo.repository.ClientRepository;
+import ru.t1.java.demo.model.enums.CheckFallbackPolicy;
+import ru.t1.java.demo.repository.ClientJdbcRepository;
 import ru.t1.java.demo.service.ClientService;
+import ru.t1.java.demo.util.ClientJsonReader;
 import ru.t1.java.demo.web.CheckWebClient;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class ClientServiceImpl implements ClientService {
 
-    private final ClientRepository repository;
+    private static final String MOCK_DATA = "MOCK_DATA.json";
+
+    private final ClientJdbcRepository clientJdbcRepository;
     private final KafkaClientProducer kafkaClientProducer;
     private final CheckWebClient checkWebClient;
+    private final ClientJsonReader clientJsonReader;
+
+    @Value("${integration.check.concurrency:16}")
+    private int checkConcurrency;
+    @Value("${integration.check.batch-timeout:5000}")
+    private long checkBatchTimeout;
+    @Value("${integration.fallback.queue-capacity:10000}")
+    private int deferredCapacity;
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private BlockingQueue<Client> deferredClients;
+    /**
+     * Runs blocking checks and JDBC work: one virtual thread per task in virtual-thread mode,
+     * the shared bounded elastic pool otherwise.
+     */
+    private Scheduler blockingScheduler = Schedulers.boundedElastic();
+
+    @PostConstruct
+    void init() {
+        deferredClients = new ArrayBlockingQueue<>(deferredCapacity);
+        checkWebClient.onRecovered(this::replayDeferred);
+        if (virtualThreads) {
+            blockingScheduler = Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "client-vt");
+        }
+    }
+
+    @PreDestroy
+    void destroy() {
+        if (virtualThreads) {
+            blockingScheduler.dispose();
+        }
+    }
 
     @Override
     public List<Client> registerClients(List<Client> clients) {
-        List<Client> savedClients = new ArrayList<>();
+        if (checkConcurrency > 1 && clients.size() > 1) {
+            return persistAndPublish(checkClientsConcurrently(clients));
+        }
+        List<Client> allowedClients = new ArrayList<>();
         for (Client client : clients) {
-            Optional<CheckResponse> check = checkWebClient.check(client.getClientId());
+            Optional<CheckResponse> check = check(client);
             check.ifPresent(checkResponse -> {
                 if (!checkResponse.getBlocked()) {
-//                    Client saved = repository.save(client);
-                    kafkaClientProducer.send(client.getId());
-                    savedClients.add(client);
+                    allowedClients.add(client);
                 }
             });
-//            savedClients.add(repository.save(client));
         }
 
+        return persistAndPublish(allowedClients);
+    }
+
+    /**
+     * Checks run without blocking, up to {@code integration.check.concurrency} at once and within
+     * {@code integration.check.batch-timeout} ms; if any check misses it the result fails with
+     * {@link CheckDeadlineExceededException} and nothing is persisted. The JDBC batch runs on the
+     * blocking scheduler and the response is emitted once every publish has completed. A failed publish
+     * does not fail the response: {@link KafkaClientProducer} logs it and counts it in
+     * {@code t1_java_demo_kafka_producer_failure_count}.
+     */
+    @Override
+    public Mono<List<Client>> registerClientsAsync(List<Client> clients) {
+        return allowedWithinDeadline(clients, client -> checkWebClient.checkAsync(client.getClientId())
+                        .onErrorResume(CheckUnavailableException.class,
+                                e -> park(client) ? Mono.empty() : Mono.error(e))
+                        .map(checkResponse -> !checkResponse.getBlocked()))
+                .filter(allowedClients -> !allowedClients.isEmpty())
+                .flatMap(allowedClients -> Mono.fromCallable(() -> clientJdbcRepository.batchInsert(allowedClients))
+                        .subscribeOn(blockingScheduler))
+                .flatMap(savedClients -> Flux.fromIterable(savedClients)
+                        .flatMap(client -> Mono.fromFuture(() -> kafkaClientProducer.sendAsync(client.getId()))
+                                .onErrorResume(e -> Mono.empty()))
+                        .then(Mono.fromSupplier(() -> savedClients.stream()
+                                .sorted(Comparator.comparing(Client::getId))
+                                .toList())))
+                .defaultIfEmpty(List.of());
+    }
+
+    /**
+     * Runs up to {@code integration.check.concurrency} checks at once. If not every check has finished
+     * within {@code integration.check.batch-timeout} ms the whole batch fails with
+     * {@link CheckDeadlineExceededException}, so a slow check service never silently shrinks the result.
+     */
+    private List<Client> checkClientsConcurrently(List<Client> clients) {
+        return allowedWithinDeadline(clients, client -> Mono.fromCallable(() -> check(client))
+                .subscribeOn(blockingScheduler)
+                .map(check -> check.map(checkResponse -> !checkResponse.getBlocked()).orElse(false)))
+                .block();
+    }
+
+    /**
+     * Clients whose check allowed them, in completion order. A parked client counts as checked and not allowed.
+     */
+    private Mono<List<Client>> allowedWithinDeadline(List<Client> clients, Function<Client, Mono<Boolean>> allowed) {
+        return Flux.fromIterable(clients)
+                .flatMap(client -> allowed.apply(client)
+                                .defaultIfEmpty(false)
+                                .map(isAllowed -> new CheckOutcome(client, isAllowed)),
+                        checkConcurrency)
+                .take(Duration.ofMillis(checkBatchTimeout))
+                .collectList()
+                .flatMap(outcomes -> {
+                    if (outcomes.size() < clients.size()) {
+                        Set<Client> checked = Collections.newSetFromMap(new IdentityHashMap<>());
+                        outcomes.forEach(outcome -> checked.add(outcome.client()));
+                        List<Integer> unchecked = clients.stream()
+                                .filter(client -> !checked.contains(client))
+                                .map(Client::getClientId)
+                                .toList();
+                        log.warn("Не проверено {} из {} клиентов за {} ms", unchecked.size(), clients.size(),
+                                checkBatchTimeout);
+                        return Mono.error(new CheckDeadlineExceededException(checkBatchTimeout, unchecked));
+                    }
+                    return Mono.just(outcomes.stream()
+                            .filter(CheckOutcome::allowed)
+                            .map(CheckOutcome::client)
+                            .toList());
+                });
+    }
+
+    /**
+     * While the check service is unavailable and the fallback policy is {@code QUEUE}
+     * the client is parked until the circuit recovers and is left out of the current result.
+     */
+    private Optional<CheckResponse> check(Client client) {
+        try {
+            return checkWebClient.check(client.getClientId());
+        } catch (CheckUnavailableException e) {
+            if (!park(client)) {
+                throw e;
+            }
+            return Optional.empty();
+        }
+    }
+
+    private boolean park(Client client) {
+        if (checkWebClient.fallbackPolicy() != CheckFallbackPolicy.QUEUE || !deferredClients.offer(client)) {
+            return false;
+        }
+        log.debug("Клиент {} отложен до восстановления сервиса проверки", client.getClientId());
+        return true;
+    }
+
+    /**
+     * Registers parked clients again off the circuit breaker's thread.
+     * If the replay fails the clients are parked again for the next recovery.
+     */
+    private void replayDeferred() {
+        List<Client> clients = new ArrayList<>();
+        deferredClients.drainTo(clients);
+        if (clients.isEmpty()) {
+            return;
+        }
+        log.info("Повторная регистрация отложенных клиентов: {} шт.", clients.size());
+        Mono.fromRunnable(() -> registerClients(clients))
+                .subscribeOn(blockingScheduler)
+                .subscribe(null, e -> {
+                    log.warn("Replay of {} deferred clients failed: {}", clients.size(), e.toString());
+                    clients.forEach(deferredClients::offer);
+                });
+    }
+
+    /**
+     * Saves the clients with one JDBC batch and publishes their ids once the batch is committed.
+     */
+    private List<Client> persistAndPublish(List<Client> clients) {
+        if (clients.isEmpty()) {
+            return List.of();
+        }
+        List<Client> savedClients = clientJdbcRepository.batchInsert(clients);
+        savedClients.forEach(client -> kafkaClientProducer.send(client.getId()));
+
         return savedClients
                 .stream()
                 .sorted(Comparator.comparing(Client::getId))
@@ -61,22 +237,20 @@ public class ClientServiceImpl implements ClientService {
     @Override
     public List<ClientDto> parseJson() {
         log.info("Parsing json");
-        ObjectMapper mapper = new ObjectMapper();
-        ClientDto[] clients = new ClientDto[0];
-        try {
-//            clients = mapper.readValue(new File("src/main/resources/MOCK_DATA.json"), ClientDto[].class);
-            clients = new ClientDto[]{ClientDto.builder()
-                    .firstName("first_name_1")
-                    .build(),
-                    ClientDto.builder()
-                            .firstName("first_name_2")
-                            .build()};
+        List<ClientDto> clients = List.of();
+        try (Stream<ClientDto> stream = clientJsonReader.stream(new ClassPathResource(MOCK_DATA))) {
+            clients = stream.toList();
         } catch (Exception e) {
 //            throw new RuntimeException(e);
             log.warn("Exception: ", e);
         }
-        log.info("Found {} clients", clients.length);
-        return Arrays.asList(clients);
+        log.info("Found {} clients", clients.size());
+        return clients;
+    }
+
+    @Override
+    public Flux<List<ClientDto>> streamJson(Resource source, int chunkSize) {
+        return clientJsonReader.chunks(source, chunkSize);
     }
 
     @Override
@@ -85,4 +259,7 @@ public class ClientServiceImpl implements ClientService {
         dtos.forEach(dto -> dto.setMiddleName(null));
         log.info("Done clearing middle name");
     }
+
+    private record CheckOutcome(Client client, boolean allowed) {
+    }
 }
@@ -1,39 +1,125 @@
 package ru.t1.java.demo.service.impl;
 
 import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.ImmutableTag;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
+import ru.t1.java.demo.model.enums.Metrics;
 import ru.t1.java.demo.service.MetricService;
 import ru.t1.java.demo.service.metrics.MetricCounter;
 
-import java.util.HashMap;
 import java.util.Map;
-
-import static ru.t1.java.demo.model.enums.Metrics.CLIENT_CONTROLLER_REQUEST_COUNT;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
 
 @Component
 public class MetricServiceImpl implements MetricService {
 
-    private final Map<String, MetricCounter> counters;
+    private final Map<String, MetricCounter> namedCounters = new ConcurrentHashMap<>();
+    private final MeterNode<MetricCounter> counters = new MeterNode<>();
+    private final MeterNode<Timer> timers = new MeterNode<>();
+    private final MeterNode<Object> gauges = new MeterNode<>();
     private final MeterRegistry meterRegistry;
     private final Tag groupTag = new ImmutableTag("group", "t1_java");
 
     public MetricServiceImpl(MeterRegistry meterRegistry) {
         this.meterRegistry = meterRegistry;
-        this.counters = new HashMap<>();
-        counters.put(CLIENT_CONTROLLER_REQUEST_COUNT.getValue(),
-                counter(CLIENT_CONTROLLER_REQUEST_COUNT.getValue()));
     }
 
     @Override
     public void incrementByName(String name) {
-        counters.get(CLIENT_CONTROLLER_REQUEST_COUNT.getValue()).increment();
+        namedCounter(name).increment();
+    }
+
+    @Override
+    public void increment(Metrics metric) {
+        namedCounter(metric.getValue()).increment();
+    }
+
+    @Override
+    public MetricCounter counter(String name, String... tags) {
+        if (tags.length == 0) {
+            return namedCounter(name);
+        }
+        MeterNode<MetricCounter> node = counters.find(name, tags);
+        MetricCounter counter = node.meter;
+        return counter != null ? counter : node.register(() -> createCounter(name, tags(tags)));
+    }
+
+    @Override
+    public Timer timer(String name, String... tags) {
+        MeterNode<Timer> node = timers.find(name, tags);
+        Timer timer = node.meter;
+        return timer != null ? timer : node.register(() -> Timer.builder(name)
+                .tags(tags(tags))
+                .register(meterRegistry));
     }
 
-    private MetricCounter counter(String name) {
-        return MetricCounter.create(meterRegistry, name, ImmutableList.of(groupTag), b -> {
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T gauge(String name, T state, ToDoubleFunction<T> valueFunction, String... tags) {
+        MeterNode<Object> node = gauges.find(name, tags);
+        Object registered = node.meter;
+        // the node keeps the state strongly reachable, Micrometer only holds a weak reference
+        return (T) (registered != null ? registered : node.register(() -> {
+            Gauge.builder(name, state, valueFunction)
+                    .tags(tags(tags))
+                    .register(meterRegistry);
+            return state;
+        }));
+    }
+
+    private MetricCounter namedCounter(String name) {
+        MetricCounter counter = namedCounters.get(name);
+        return counter != null
+                ? counter
+                : namedCounters.computeIfAbsent(name, key -> createCounter(key, ImmutableList.of(groupTag)));
+    }
+
+    private ImmutableList<Tag> tags(String... tags) {
+        return ImmutableList.<Tag>builder()
+                .add(groupTag)
+                .addAll(Tags.of(tags))
+                .build();
+    }
+
+    private MetricCounter createCounter(String name, ImmutableList<Tag> tags) {
+        return MetricCounter.create(meterRegistry, name, tags, b -> {
         });
     }
+
+    /**
+     * One level per name and tag string: a lookup walks existing nodes with plain map reads
+     * instead of building a key, so it allocates nothing once the meter is registered.
+     */
+    private static final class MeterNode<M> {
+
+        private final Map<String, MeterNode<M>> children = new ConcurrentHashMap<>();
+        private volatile M meter;
+
+        MeterNode<M> find(String name, String[] tags) {
+            MeterNode<M> node = child(name);
+            for (String tag : tags) {
+                node = node.child(tag);
+            }
+            return node;
+        }
+
+        synchronized M register(Supplier<M> factory) {
+            if (meter == null) {
+                meter = factory.get();
+            }
+            return meter;
+        }
+
+        private MeterNode<M> child(String key) {
+            MeterNode<M> child = children.get(key);
+            return child != null ? child : children.computeIfAbsent(key, k -> new MeterNode<>());
+        }
+    }
 }
@@ -0,0 +1,83 @@
+package ru.t1.java.demo.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+import ru.t1.java.demo.model.dto.JwtResponse;
+import ru.t1.java.demo.model.dto.LoginRequest;
+import ru.t1.java.demo.service.SigninService;
+import ru.t1.java.demo.util.JwtUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs password verification on its own bounded pool, so a login spike cannot take
+ * all Tomcat worker threads.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SigninServiceImpl implements SigninService {
+
+    private final AuthenticationManager authenticationManager;
+    private final JwtUtils jwtUtils;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${security.signin.threads:4}")
+    private int threads;
+    @Value("${security.signin.queue-capacity:100}")
+    private int queueCapacity;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    void init() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("signin-");
+        executor.initialize();
+        ExecutorServiceMetrics.monitor(meterRegistry, executor.getThreadPoolExecutor(), "signin", Tags.of("group", "t1_java"));
+    }
+
+    @PreDestroy
+    void destroy() {
+        executor.shutdown();
+    }
+
+    @Override
+    public CompletableFuture<JwtResponse> signin(LoginRequest loginRequest) {
+        return CompletableFuture.supplyAsync(() -> authenticate(loginRequest), executor);
+    }
+
+    private JwtResponse authenticate(LoginRequest loginRequest) {
+        Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+
+        String jwt = jwtUtils.generateJwtToken(authentication);
+
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
+        return new JwtResponse(jwt,
+                userDetails.getId(),
+                userDetails.getUsername(),
+                userDetails.getEmail(),
+                roles);
+    }
+}
@@ -0,0 +1,40 @@
+package ru.t1.java.demo.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ru.t1.java.demo.service.TokenRevocationService;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps one "revoked before" timestamp per user instead of a list of tokens. An entry is dropped once
+ * it is older than the token lifetime, because every token it covers has expired by then.
+ * Issue times are compared in milliseconds (see {@link ru.t1.java.demo.util.JwtUtils#ISSUED_AT_MS_CLAIM});
+ * a token issued in the same millisecond as the revocation is rejected too. The list is local to the instance.
+ */
+@Slf4j
+@Service
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private final Map<Long, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    @Value("${security.expiration}")
+    private long jwtExpirationMs;
+
+    @Override
+    public void revokeUser(Long userId) {
+        long now = System.currentTimeMillis();
+        revokedBefore.values().removeIf(revokedAt -> revokedAt < now - jwtExpirationMs);
+        revokedBefore.put(userId, now);
+        log.debug("Токены пользователя {} отозваны", userId);
+    }
+
+    @Override
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        Long revokedAt = revokedBefore.get(userId);
+        return revokedAt != null && (issuedAt == null || issuedAt.getTime() <= revokedAt);
+    }
+}
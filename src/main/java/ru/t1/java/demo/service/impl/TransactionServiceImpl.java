@@ -1,10 +1,68 @@
 package ru.t1.java.demo.service.impl;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import ru.t1.java.demo.model.dto.TransactionDto;
+import ru.t1.java.demo.repository.TransactionJdbcRepository;
 import ru.t1.java.demo.service.TransactionService;
+import ru.t1.java.demo.util.TransactionMapper;
 
-@RequiredArgsConstructor
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static ru.t1.java.demo.model.enums.Metrics.TRANSACTION_INGEST_REJECTED_COUNT;
+
+@Slf4j
 @Service
 public class TransactionServiceImpl implements TransactionService {
+
+    private final TransactionJdbcRepository transactionJdbcRepository;
+    private final Counter rejectedCounter;
+
+    public TransactionServiceImpl(TransactionJdbcRepository transactionJdbcRepository, MeterRegistry meterRegistry) {
+        this.transactionJdbcRepository = transactionJdbcRepository;
+        this.rejectedCounter = Counter.builder(TRANSACTION_INGEST_REJECTED_COUNT.getValue())
+                .tag("group", "t1_java")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional
+    public int ingest(List<TransactionDto> transactions) {
+        Map<String, TransactionDto> unique = new LinkedHashMap<>();
+        int rejected = 0;
+        for (TransactionDto transaction : transactions) {
+            if (isValid(transaction)) {
+                unique.putIfAbsent(transaction.getExternalId(), transaction);
+            } else {
+                rejected++;
+            }
+        }
+        if (rejected > 0) {
+            rejectedCounter.increment(rejected);
+            log.warn("Отклонено {} некорректных транзакций", rejected);
+        }
+
+        unique.keySet().removeAll(transactionJdbcRepository.findExistingExternalIds(unique.keySet()));
+        if (unique.isEmpty()) {
+            return 0;
+        }
+        transactionJdbcRepository.batchInsert(unique.values().stream()
+                .map(TransactionMapper::toEntity)
+                .toList());
+        log.debug("Сохранено {} транзакций из {}", unique.size(), transactions.size());
+        return unique.size();
+    }
+
+    private static boolean isValid(TransactionDto transaction) {
+        return transaction != null
+                && StringUtils.hasText(transaction.getExternalId())
+                && transaction.getClientId() != null
+                && transaction.getAmount() != null;
+    }
 }
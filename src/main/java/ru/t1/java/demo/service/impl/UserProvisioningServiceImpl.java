@@ -0,0 +1,237 @@
+package ru.t1.java.demo.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.t1.java.demo.model.Role;
+import ru.t1.java.demo.model.RoleEnum;
+import ru.t1.java.demo.model.dto.BulkSignupResponse;
+import ru.t1.java.demo.model.dto.SignupRequest;
+import ru.t1.java.demo.repository.RoleRepository;
+import ru.t1.java.demo.repository.SequenceIdAllocator;
+import ru.t1.java.demo.service.UserProvisioningService;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk signup: one uniqueness query per chunk, roles from a map loaded at startup, BCrypt on a bounded
+ * CPU pool (the request thread helps when the queue is full) and JDBC batch inserts into
+ * {@code users} and {@code user_roles}. Checks and hashing run outside the transaction, which covers
+ * only id allocation and the inserts.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserProvisioningServiceImpl implements UserProvisioningService {
+
+    static final String USER_SEQUENCE = "users_seq";
+
+    private static final String EXISTING_SQL = """
+            SELECT login, email FROM users
+            WHERE login IN (:logins) OR email IN (:emails)""";
+    private static final String INSERT_USER_SQL = """
+            INSERT INTO users (id, login, email, password)
+            VALUES (?, ?, ?, ?)""";
+    private static final String INSERT_USER_ROLE_SQL = """
+            INSERT INTO user_roles (user_id, role_id)
+            VALUES (?, ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final RoleRepository roleRepository;
+    private final SequenceIdAllocator idAllocator;
+    private final PasswordEncoder encoder;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${security.provisioning.hash-threads:0}")
+    private int hashThreads;
+    @Value("${security.provisioning.hash-queue-capacity:1000}")
+    private int hashQueueCapacity;
+    @Value("${security.provisioning.batch-size:1000}")
+    private int batchSize;
+
+    private volatile Map<RoleEnum, Long> roleIds = Map.of();
+    private ExecutorService hashExecutor;
+
+    @PostConstruct
+    void init() {
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        hashExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(hashQueueCapacity),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void destroy() {
+        hashExecutor.shutdown();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRoles() {
+        Map<RoleEnum, Long> ids = new EnumMap<>(RoleEnum.class);
+        for (Role role : roleRepository.findAll()) {
+            ids.put(role.getName(), role.getId());
+        }
+        roleIds = ids;
+        log.debug("Загружено ролей: {}", ids.size());
+    }
+
+    @Override
+    public BulkSignupResponse provision(List<SignupRequest> requests) {
+        Map<String, String> rejected = new LinkedHashMap<>();
+        List<SignupRequest> accepted = new ArrayList<>();
+        Set<String> logins = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (SignupRequest request : requests) {
+            if (!logins.add(request.getUsername())) {
+                rejected.put(request.getUsername(), "Username is duplicated in the batch");
+            } else if (!emails.add(request.getEmail())) {
+                rejected.put(request.getUsername(), "Email is duplicated in the batch");
+            } else {
+                accepted.add(request);
+            }
+        }
+
+        accepted = rejectTaken(accepted, rejected);
+
+        List<SignupRequest> resolved = new ArrayList<>(accepted.size());
+        List<Set<Long>> userRoles = new ArrayList<>(accepted.size());
+        for (SignupRequest request : accepted) {
+            Set<Long> roles = resolveRoles(request.getRole());
+            if (roles == null) {
+                rejected.put(request.getUsername(), "Role is not found");
+            } else {
+                resolved.add(request);
+                userRoles.add(roles);
+            }
+        }
+
+        List<CompletableFuture<String>> hashes = resolved.stream()
+                .map(request -> CompletableFuture.supplyAsync(() -> encoder.encode(request.getPassword()), hashExecutor))
+                .toList();
+        List<NewUser> users = new ArrayList<>(resolved.size());
+        for (int i = 0; i < resolved.size(); i++) {
+            users.add(new NewUser(resolved.get(i), userRoles.get(i), hashes.get(i).join()));
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(users));
+        } catch (DuplicateKeyException e) {
+            log.warn("Bulk signup: логин или email заняты параллельной регистрацией, повторная проверка");
+            Set<String> free = new HashSet<>();
+            for (SignupRequest request : rejectTaken(users.stream().map(NewUser::request).toList(), rejected)) {
+                free.add(request.getUsername());
+            }
+            users.removeIf(user -> !free.contains(user.request().getUsername()));
+            transactionTemplate.executeWithoutResult(status -> insert(users));
+        }
+
+        log.info("Bulk signup: создано {}, отклонено {}", users.size(), rejected.size());
+        return new BulkSignupResponse(users.size(), rejected);
+    }
+
+    /**
+     * Runs inside a short transaction: only id allocation and the batch inserts. Uniqueness of
+     * login and email is enforced by the table constraints, a conflict rolls the whole batch back.
+     */
+    private void insert(List<NewUser> users) {
+        long[] ids = idAllocator.allocate(USER_SEQUENCE, users.size());
+        List<Object[]> userRows = new ArrayList<>(users.size());
+        List<Object[]> roleRows = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            NewUser user = users.get(i);
+            userRows.add(new Object[]{ids[i], user.request().getUsername(), user.request().getEmail(), user.passwordHash()});
+            for (Long roleId : user.roleIds()) {
+                roleRows.add(new Object[]{ids[i], roleId});
+            }
+        }
+        for (int from = 0; from < userRows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(INSERT_USER_SQL, userRows.subList(from, Math.min(from + batchSize, userRows.size())));
+        }
+        for (int from = 0; from < roleRows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(INSERT_USER_ROLE_SQL, roleRows.subList(from, Math.min(from + batchSize, roleRows.size())));
+        }
+    }
+
+    private List<SignupRequest> rejectTaken(List<SignupRequest> requests, Map<String, String> rejected) {
+        Set<String> takenLogins = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        for (int from = 0; from < requests.size(); from += batchSize) {
+            List<SignupRequest> chunk = requests.subList(from, Math.min(from + batchSize, requests.size()));
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("logins", chunk.stream().map(SignupRequest::getUsername).toList())
+                    .addValue("emails", chunk.stream().map(SignupRequest::getEmail).toList());
+            namedParameterJdbcTemplate.query(EXISTING_SQL, params, rs -> {
+                takenLogins.add(rs.getString("login"));
+                takenEmails.add(rs.getString("email"));
+            });
+        }
+
+        List<SignupRequest> free = new ArrayList<>(requests.size());
+        for (SignupRequest request : requests) {
+            if (takenLogins.contains(request.getUsername())) {
+                rejected.put(request.getUsername(), "Username is already taken");
+            } else if (takenEmails.contains(request.getEmail())) {
+                rejected.put(request.getUsername(), "Email is already in use");
+            } else {
+                free.add(request);
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Same mapping as {@code /api/auth/signup}; returns {@code null} if a role is missing in the database.
+     */
+    private Set<Long> resolveRoles(Set<String> requested) {
+        Set<RoleEnum> roles = EnumSet.noneOf(RoleEnum.class);
+        if (requested == null || requested.isEmpty()) {
+            roles.add(RoleEnum.ROLE_USER);
+        } else {
+            for (String role : requested) {
+                roles.add(switch (role) {
+                    case "admin" -> RoleEnum.ROLE_ADMIN;
+                    case "mod" -> RoleEnum.ROLE_MODERATOR;
+                    default -> RoleEnum.ROLE_USER;
+                });
+            }
+        }
+        Set<Long> ids = new HashSet<>();
+        for (RoleEnum role : roles) {
+            Long id = roleIds.get(role);
+            if (id == null) {
+                return null;
+            }
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private record NewUser(SignupRequest request, Set<Long> roleIds, String passwordHash) {
+    }
+}
@@ -0,0 +1,74 @@
+package ru.t1.java.demo.service.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+import static ru.t1.java.demo.model.enums.Metrics.VIRTUAL_THREAD_PINNED_DURATION;
+
+/**
+ * Streams {@code jdk.VirtualThreadPinned} JFR events into a timer, so virtual threads blocking
+ * while pinned to their carrier (synchronized blocks, native frames) are visible under load.
+ */
+@Slf4j
+public class VirtualThreadPinningMetrics implements MeterBinder, AutoCloseable {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Duration threshold;
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMetrics(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        if (recordingStream != null) {
+            return;
+        }
+        Timer pinned = Timer.builder(VIRTUAL_THREAD_PINNED_DURATION.getValue())
+                .description("Time virtual threads spent blocked while pinned to a carrier thread")
+                .tag("group", "t1_java")
+                .register(registry);
+
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, event -> {
+            pinned.record(event.getDuration());
+            log.debug("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), pinnedAt(event));
+        });
+        recordingStream.startAsync();
+        log.info("Virtual thread pinning monitor started, threshold {} ms", threshold.toMillis());
+    }
+
+    @Override
+    public synchronized void close() {
+        if (recordingStream != null) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+
+    /**
+     * First application frame of the pinned stack, JDK frames only show where the thread parked.
+     */
+    private static String pinnedAt(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown";
+        }
+        return event.getStackTrace().getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                              + ":" + frame.getLineNumber())
+                .filter(frame -> !frame.startsWith("java.") && !frame.startsWith("jdk."))
+                .findFirst()
+                .orElse("unknown");
+    }
+}
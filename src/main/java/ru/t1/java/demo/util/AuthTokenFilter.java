@@ -1,43 +1,46 @@
 package ru.t1.java.demo.util;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.AllArgsConstructor;
-import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
-import ru.t1.java.demo.service.impl.UserDetailsServiceImpl;
+import ru.t1.java.demo.service.TokenRevocationService;
+import ru.t1.java.demo.service.impl.UserDetailsImpl;
 
 import java.io.IOException;
+import java.util.Optional;
 
+/**
+ * Authenticates requests from the JWT claims alone; the user is not loaded from the database.
+ */
 @RequiredArgsConstructor
 @Slf4j
 public class AuthTokenFilter extends OncePerRequestFilter {
     private final JwtUtils jwtUtils;
-    private final UserDetailsServiceImpl userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            Optional<Claims> claims = jwt == null ? Optional.empty() : jwtUtils.parseClaims(jwt);
+            Optional<UserDetailsImpl> userDetails = claims.flatMap(jwtUtils::getUserDetails)
+                    .filter(user -> !tokenRevocationService.isRevoked(user.getId(), jwtUtils.getIssuedAt(claims.get())));
+            if (userDetails.isPresent()) {
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
-                                userDetails,
+                                userDetails.get(),
                                 null,
-                                userDetails.getAuthorities());
+                                userDetails.get().getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -0,0 +1,71 @@
+package ru.t1.java.demo.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import ru.t1.java.demo.model.dto.ClientDto;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads a top-level JSON array of clients (the {@code MOCK_DATA.json} format) element by element,
+ * so memory use does not depend on the size of the file.
+ */
+@Slf4j
+@Component
+public class ClientJsonReader {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectReader READER = OBJECT_MAPPER.readerFor(ClientDto.class);
+
+    /**
+     * Lazily parses the array. The returned stream holds the file open and must be closed.
+     */
+    public Stream<ClientDto> stream(Resource source) throws IOException {
+        JsonParser parser = OBJECT_MAPPER.getFactory().createParser(source.getInputStream());
+        try {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected JSON array in " + source.getDescription());
+            }
+            if (parser.nextToken() == JsonToken.END_ARRAY) {
+                parser.close();
+                return Stream.empty();
+            }
+            MappingIterator<ClientDto> iterator = READER.readValues(parser);
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                    .onClose(() -> close(iterator));
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Emits the parsed clients in lists of {@code chunkSize}, reading the file only as fast as
+     * downstream requests chunks.
+     */
+    public Flux<List<ClientDto>> chunks(Resource source, int chunkSize) {
+        return Flux.using(() -> stream(source), Flux::fromStream, Stream::close)
+                .buffer(chunkSize);
+    }
+
+    private static void close(MappingIterator<ClientDto> iterator) {
+        try {
+            iterator.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
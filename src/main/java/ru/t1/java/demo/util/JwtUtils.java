@@ -1,59 +1,96 @@
 package ru.t1.java.demo.util;
 
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 import ru.t1.java.demo.service.impl.UserDetailsImpl;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Slf4j
 public class JwtUtils {
 
+    public static final String ID_CLAIM = "id";
+    public static final String EMAIL_CLAIM = "email";
+    public static final String ROLES_CLAIM = "roles";
+    /**
+     * Issue time in milliseconds: {@code iat} has second precision, which is too coarse for revocation.
+     */
+    public static final String ISSUED_AT_MS_CLAIM = "iat_ms";
+
     @Value("${security.token}")
     private String jwtSecret;
 
     @Value("${security.expiration}")
     private int jwtExpirationMs;
 
+    @Value("${security.token-cache.maximum-size:10000}")
+    private long tokenCacheMaximumSize;
+
+    private Key key;
+    private JwtParser parser;
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(tokenCacheMaximumSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
     public String generateJwtToken(Authentication authentication) {
 
         UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
+        Date issuedAt = new Date();
 
         return Jwts.builder()
                 .setSubject((userPrincipal.getUsername()))
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), SignatureAlgorithm.HS256)
+                .claim(ID_CLAIM, userPrincipal.getId())
+                .claim(EMAIL_CLAIM, userPrincipal.getEmail())
+                .claim(ROLES_CLAIM, userPrincipal.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .toList())
+                .claim(ISSUED_AT_MS_CLAIM, issuedAt.getTime())
+                .setIssuedAt(issuedAt)
+                .setExpiration(new Date(issuedAt.getTime() + jwtExpirationMs))
+                .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
-    }
-
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
-                .parseClaimsJws(token)
-                .getBody().getSubject();
-    }
-
-    public boolean validateJwtToken(String authToken) {
+    /**
+     * Verifies the token and returns its claims. Verified tokens are cached until they expire,
+     * so a token is parsed and its signature checked once, not on every request.
+     */
+    public Optional<Claims> parseClaims(String token) {
+        Claims cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key())
-                    .build()
-                    .parse(authToken);
-            return true;
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            verifiedTokens.put(token, claims);
+            return Optional.of(claims);
         } catch (MalformedJwtException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -62,7 +99,68 @@ public class JwtUtils {
             log.error("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             log.error("JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            log.error("Invalid JWT signature: {}", e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Rebuilds the principal from the token claims. Tokens issued without an id claim yield nothing.
+     */
+    public Optional<UserDetailsImpl> getUserDetails(Claims claims) {
+        Number id = claims.get(ID_CLAIM, Number.class);
+        if (id == null) {
+            return Optional.empty();
+        }
+        List<?> roles = Optional.ofNullable(claims.get(ROLES_CLAIM, List.class)).orElse(List.of());
+        return Optional.of(new UserDetailsImpl(
+                id.longValue(),
+                claims.getSubject(),
+                claims.get(EMAIL_CLAIM, String.class),
+                null,
+                roles.stream()
+                        .map(role -> new SimpleGrantedAuthority(role.toString()))
+                        .toList()));
+    }
+
+    /**
+     * Issue time with millisecond precision; tokens issued without {@link #ISSUED_AT_MS_CLAIM} fall back to {@code iat}.
+     */
+    public Date getIssuedAt(Claims claims) {
+        Number issuedAtMs = claims.get(ISSUED_AT_MS_CLAIM, Number.class);
+        return issuedAtMs == null ? claims.getIssuedAt() : new Date(issuedAtMs.longValue());
+    }
+
+    public String getUserNameFromJwtToken(String token) {
+        return parseClaims(token)
+                .map(Claims::getSubject)
+                .orElse(null);
+    }
+
+    public boolean validateJwtToken(String authToken) {
+        return parseClaims(authToken).isPresent();
+    }
+
+    private static final class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return Long.MAX_VALUE;
+            }
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiration.getTime() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
         }
-        return false;
     }
 }
@@ -0,0 +1,15 @@
+package ru.t1.java.demo.util;
+
+import ru.t1.java.demo.model.Transaction;
+import ru.t1.java.demo.model.dto.TransactionDto;
+
+public class TransactionMapper {
+
+    public static Transaction toEntity(TransactionDto dto) {
+        Transaction transaction = new Transaction();
+        transaction.setExternalId(dto.getExternalId());
+        transaction.setClientId(dto.getClientId());
+        transaction.setAmount(dto.getAmount());
+        return transaction;
+    }
+}
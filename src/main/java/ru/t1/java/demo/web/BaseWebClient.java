@@ -1,6 +1,9 @@
 package ru.t1.java.demo.web;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
@@ -9,49 +12,192 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.util.UriBuilder;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
 import java.net.URI;
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
+import static ru.t1.java.demo.model.enums.Metrics.WEB_CLIENT_ATTEMPT_COUNT;
+import static ru.t1.java.demo.model.enums.Metrics.WEB_CLIENT_ATTEMPT_DURATION;
+import static ru.t1.java.demo.model.enums.Metrics.WEB_CLIENT_REQUEST_COUNT;
+
+/**
+ * Base for integration clients: every attempt is bounded by its own timeout, the whole call by
+ * an overall deadline. Only retryable failures (connection errors, timeouts, 408, 429, 5xx)
+ * are retried with jittered exponential backoff. With hedging enabled a second attempt is sent
+ * once the first one runs longer than the observed p95; the first successful answer wins and
+ * the round fails only when both attempts fail.
+ */
 @Slf4j
-@RequiredArgsConstructor
 public abstract class BaseWebClient {
 
+    private static final double HEDGE_PERCENTILE = 0.95;
+
     @Value("${integration.retry-count}")
     private Integer retryCount;
     @Value("${integration.retry-backoff}")
     private Integer retryBackoff;
+    @Value("${integration.retry-max-backoff:2000}")
+    private long retryMaxBackoff;
+    @Value("${integration.retry-jitter:0.5}")
+    private double retryJitter;
+    @Value("${integration.timeout.attempt:1000}")
+    private long attemptTimeout;
+    @Value("${integration.timeout.overall:5000}")
+    private long overallTimeout;
+    @Value("${integration.hedging.enabled:false}")
+    private boolean hedgingEnabled;
+    @Value("${integration.hedging.initial-delay:200}")
+    private long hedgingInitialDelay;
+    @Value("${integration.hedging.min-delay:20}")
+    private long hedgingMinDelay;
+    @Value("${integration.hedging.min-samples:100}")
+    private long hedgingMinSamples;
 
     private final WebClient webClient;
+    private final MeterRegistry meterRegistry;
+    private final Timer attemptTimer;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    protected BaseWebClient(WebClient webClient, MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.meterRegistry = meterRegistry;
+        this.attemptTimer = Timer.builder(WEB_CLIENT_ATTEMPT_DURATION.getValue())
+                .description("Duration of successful HTTP attempts")
+                .tag("group", "t1_java")
+                .tag("client", clientName())
+                .publishPercentiles(HEDGE_PERCENTILE)
+                .register(meterRegistry);
+    }
 
     public <T, R> ResponseEntity<R> post(Function<UriBuilder, URI> function, T request, Class<R> clazz) {
         try {
-            WebClient.RequestHeadersSpec<?> requestHeadersSpec = webClient.post()
+            return postAsync(function, request, clazz).block();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public <T, R> Mono<ResponseEntity<R>> postAsync(Function<UriBuilder, URI> function, T request, Class<R> clazz) {
+        AtomicInteger round = new AtomicInteger();
+        return Mono.defer(() -> {
+                    Mono<ResponseEntity<R>> primary = attempt(function, request, clazz,
+                            round.getAndIncrement() == 0 ? "first" : "retry");
+                    if (!hedgingEnabled) {
+                        return primary;
+                    }
+                    Mono<ResponseEntity<R>> hedge = Mono.delay(hedgeDelay())
+                            .then(attempt(function, request, clazz, "hedge"));
+                    return Mono.firstWithValue(primary, hedge)
+                            .onErrorMap(NoSuchElementException.class, BaseWebClient::hedgeFailure);
+                })
+                .retryWhen(Retry.backoff(retryCount, Duration.ofMillis(retryBackoff))
+                        .maxBackoff(Duration.ofMillis(retryMaxBackoff))
+                        .jitter(retryJitter)
+                        .filter(BaseWebClient::isRetryable)
+                        .doBeforeRetry(signal -> log.debug("Повтор запроса {} после ошибки: {}",
+                                signal.totalRetries() + 1, signal.failure().toString()))
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .timeout(Duration.ofMillis(overallTimeout))
+                .doOnSuccess(response -> counter(WEB_CLIENT_REQUEST_COUNT.getValue(), "outcome", "success").increment())
+                .doOnError(e -> counter(WEB_CLIENT_REQUEST_COUNT.getValue(), "outcome", outcome(e)).increment());
+    }
+
+    private <T, R> Mono<ResponseEntity<R>> attempt(Function<UriBuilder, URI> function, T request, Class<R> clazz,
+                                                   String kind) {
+        return Mono.defer(() -> {
+            counter(WEB_CLIENT_ATTEMPT_COUNT.getValue(), "kind", kind).increment();
+            long start = System.nanoTime();
+            return webClient.post()
                     .uri(function)
                     .body(BodyInserters.fromValue(request))
                     .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                    .accept(MediaType.ALL);
-            ResponseEntity<R> responseEntity = requestHeadersSpec
+                    .accept(MediaType.ALL)
                     .retrieve()
                     .toEntity(clazz)
-                    .retryWhen(Retry.fixedDelay(retryCount, Duration.ofMillis(retryBackoff))
-                            .filter(this::isRequestTimeout))
-                    .block();
-            return responseEntity;
+                    .timeout(Duration.ofMillis(attemptTimeout))
+                    .doOnSuccess(response -> attemptTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
 
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+    /**
+     * Delay before the hedged attempt: the p95 of recent successful attempts,
+     * or the configured initial delay until enough samples are collected.
+     */
+    Duration hedgeDelay() {
+        long delay = hedgingInitialDelay;
+        if (attemptTimer.count() >= hedgingMinSamples) {
+            for (ValueAtPercentile value : attemptTimer.takeSnapshot().percentileValues()) {
+                if (value.percentile() == HEDGE_PERCENTILE) {
+                    delay = (long) value.value(TimeUnit.MILLISECONDS);
+                }
+            }
         }
+        return Duration.ofMillis(Math.min(Math.max(delay, hedgingMinDelay), attemptTimeout));
     }
 
-    public boolean isRequestTimeout(Throwable throwable) {
-        return (throwable instanceof WebClientResponseException) &&
-               (!((WebClientResponseException) throwable).getStatusCode().equals(HttpStatus.REQUEST_TIMEOUT));
+    /**
+     * Unwraps the error of a round where both the primary and the hedged attempt failed:
+     * a non-retryable failure wins, otherwise the primary attempt's failure is reported.
+     */
+    static Throwable hedgeFailure(NoSuchElementException e) {
+        if (e.getCause() == null) {
+            return e;
+        }
+        List<Throwable> failures = Exceptions.unwrapMultiple(e.getCause());
+        return failures.stream()
+                .filter(failure -> !isRetryable(failure))
+                .findFirst()
+                .orElse(failures.get(0));
     }
 
+    public static boolean isRetryable(Throwable throwable) {
+        if (throwable instanceof TimeoutException || throwable instanceof WebClientRequestException) {
+            return true;
+        }
+        if (throwable instanceof WebClientResponseException e) {
+            return e.getStatusCode().is5xxServerError()
+                   || e.getStatusCode().isSameCodeAs(HttpStatus.REQUEST_TIMEOUT)
+                   || e.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+        }
+        return false;
+    }
 
+    private static String outcome(Throwable throwable) {
+        if (throwable instanceof TimeoutException) {
+            return "timeout";
+        }
+        if (throwable instanceof WebClientRequestException) {
+            return "connection_error";
+        }
+        if (throwable instanceof WebClientResponseException e) {
+            return e.getStatusCode().is5xxServerError() ? "server_error" : "client_error";
+        }
+        return "error";
+    }
+
+    private Counter counter(String name, String tagKey, String tagValue) {
+        return counters.computeIfAbsent(name + '|' + tagValue, key -> Counter.builder(name)
+                .tag("group", "t1_java")
+                .tag("client", clientName())
+                .tag(tagKey, tagValue)
+                .register(meterRegistry));
+    }
+
+    private String clientName() {
+        return getClass().getSimpleName();
+    }
 }
@@ -1,9 +1,12 @@
 package ru.t1.java.demo.web;
 
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
 import io.netty.handler.ssl.SslContext;
-import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
-import io.netty.resolver.DefaultAddressResolverGroup;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,8 +15,13 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.Http11SslContextSpec;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.tcp.SslProvider;
+import ru.t1.java.demo.model.enums.CheckFallbackPolicy;
 
 import java.time.Duration;
 
@@ -22,42 +30,178 @@ import java.time.Duration;
 public class CheckClientConfig {
     @Value("${integration.url}")
     private String url;
+    @Value("${integration.cache.enabled:true}")
+    private boolean cacheEnabled;
+    @Value("${integration.cache.maximum-size:100000}")
+    private long cacheMaximumSize;
+    @Value("${integration.cache.blocked-ttl:300000}")
+    private long cacheBlockedTtl;
+    @Value("${integration.cache.allowed-ttl:60000}")
+    private long cacheAllowedTtl;
 
-    private final ConnectionProvider connProvider = ConnectionProvider
-            .builder("webclient-conn-pool")
-            .maxConnections(80)
-            .maxIdleTime(Duration.ofMillis(10))
-            .maxLifeTime(Duration.ofMillis(10000))
-            .pendingAcquireMaxCount(10)
-            .pendingAcquireTimeout(Duration.ofMillis(40000))
-            .build();
+    @Value("${integration.pool.max-connections:80}")
+    private int poolMaxConnections;
+    @Value("${integration.pool.max-idle-time:30000}")
+    private long poolMaxIdleTime;
+    @Value("${integration.pool.max-life-time:300000}")
+    private long poolMaxLifeTime;
+    @Value("${integration.pool.pending-acquire-max-count:1000}")
+    private int poolPendingAcquireMaxCount;
+    @Value("${integration.pool.pending-acquire-timeout:5000}")
+    private long poolPendingAcquireTimeout;
+    @Value("${integration.pool.evict-in-background:30000}")
+    private long poolEvictInBackground;
+    @Value("${integration.pool.connect-timeout:2000}")
+    private int connectTimeout;
+
+    @Value("${integration.http2.enabled:false}")
+    private boolean http2Enabled;
+
+    @Value("${integration.ssl.session-cache-size:1000}")
+    private long sslSessionCacheSize;
+    @Value("${integration.ssl.session-timeout:3600}")
+    private long sslSessionTimeout;
+
+    @Value("${integration.dns.cache-min-ttl:0}")
+    private long dnsCacheMinTtl;
+    @Value("${integration.dns.cache-max-ttl:60000}")
+    private long dnsCacheMaxTtl;
+    @Value("${integration.dns.cache-negative-ttl:5000}")
+    private long dnsCacheNegativeTtl;
+    @Value("${integration.dns.query-timeout:2000}")
+    private long dnsQueryTimeout;
+
+    @Value("${integration.circuit-breaker.enabled:true}")
+    private boolean circuitBreakerEnabled;
+    @Value("${integration.circuit-breaker.sliding-window-type:COUNT_BASED}")
+    private CircuitBreakerConfig.SlidingWindowType slidingWindowType;
+    @Value("${integration.circuit-breaker.sliding-window-size:50}")
+    private int slidingWindowSize;
+    @Value("${integration.circuit-breaker.minimum-number-of-calls:20}")
+    private int minimumNumberOfCalls;
+    @Value("${integration.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+    @Value("${integration.circuit-breaker.slow-call-rate-threshold:80}")
+    private float slowCallRateThreshold;
+    @Value("${integration.circuit-breaker.slow-call-duration:2000}")
+    private long slowCallDuration;
+    @Value("${integration.circuit-breaker.wait-in-open:10000}")
+    private long waitInOpen;
+    @Value("${integration.circuit-breaker.permitted-calls-in-half-open:5}")
+    private int permittedCallsInHalfOpen;
+    @Value("${integration.bulkhead.max-concurrent-calls:32}")
+    private int bulkheadMaxConcurrentCalls;
+    @Value("${integration.bulkhead.max-wait:0}")
+    private long bulkheadMaxWait;
+    @Value("${integration.fallback.policy:LAST_KNOWN}")
+    private CheckFallbackPolicy fallbackPolicy;
+    @Value("${integration.fallback.last-known-size:100000}")
+    private long fallbackLastKnownSize;
 
     @Bean
-    public CheckWebClient checkWebClient(ClientHttp clientHttp) {
+    public CheckWebClient checkWebClient(ClientHttp clientHttp, MeterRegistry meterRegistry) {
         WebClient.Builder webClient = WebClient.builder();
         webClient
                 .baseUrl(url)
                 .clientConnector(clientHttp.getClientHttp(CheckWebClient.class.getName()));
-        return new CheckWebClient(webClient.build());
+        CheckDecisionCache decisionCache = cacheEnabled
+                ? new CheckDecisionCache(cacheMaximumSize,
+                Duration.ofMillis(cacheBlockedTtl),
+                Duration.ofMillis(cacheAllowedTtl),
+                meterRegistry)
+                : null;
+        return new CheckWebClient(webClient.build(), meterRegistry, decisionCache,
+                circuitBreakerEnabled ? checkGuard(meterRegistry) : null);
     }
 
+    /**
+     * Only failures of the check service itself (see {@link BaseWebClient#isRetryable}) count
+     * towards the failure rate; a full bulkhead is not a failure of the service.
+     */
+    private CheckGuard checkGuard(MeterRegistry meterRegistry) {
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .slidingWindow(slidingWindowSize, minimumNumberOfCalls, slidingWindowType)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallDuration))
+                .waitDurationInOpenState(Duration.ofMillis(waitInOpen))
+                .permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpen)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordException(BaseWebClient::isRetryable)
+                .ignoreExceptions(BulkheadFullException.class)
+                .build();
+        BulkheadConfig bulkheadConfig = BulkheadConfig.custom()
+                .maxConcurrentCalls(bulkheadMaxConcurrentCalls)
+                .maxWaitDuration(Duration.ofMillis(bulkheadMaxWait))
+                .build();
+        return new CheckGuard(circuitBreakerConfig, bulkheadConfig, fallbackPolicy, fallbackLastKnownSize, meterRegistry);
+    }
+
+    /**
+     * Keep-alive pool shared by all check-service connectors.
+     * Pool gauges and acquire timers go to the global Micrometer registry,
+     * which Spring Boot binds to the application registry.
+     */
+    @Bean(destroyMethod = "dispose")
+    ConnectionProvider checkConnectionProvider() {
+        return ConnectionProvider
+                .builder("webclient-conn-pool")
+                .maxConnections(poolMaxConnections)
+                .maxIdleTime(Duration.ofMillis(poolMaxIdleTime))
+                .maxLifeTime(Duration.ofMillis(poolMaxLifeTime))
+                .pendingAcquireMaxCount(poolPendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(poolPendingAcquireTimeout))
+                .evictInBackground(Duration.ofMillis(poolEvictInBackground))
+                .metrics(true)
+                .build();
+    }
 
     @Bean
-    ClientHttp getClientHttp() {
-        return new ClientHttp();
+    ClientHttp getClientHttp(ConnectionProvider checkConnectionProvider) {
+        return new ClientHttp(checkConnectionProvider);
     }
 
     public class ClientHttp {
-        @SneakyThrows
-        public ClientHttpConnector getClientHttp(String nameLogClass) {
-            SslContext sslContext = SslContextBuilder
-                    .forClient().trustManager(InsecureTrustManagerFactory.INSTANCE).build();
+        private final HttpClient httpClient;
+
+        ClientHttp(ConnectionProvider connProvider) {
+            SslContext sslContext = sslContext();
+            boolean secure = url.startsWith("https");
+            HttpProtocol[] protocols = !http2Enabled
+                    ? new HttpProtocol[]{HttpProtocol.HTTP11}
+                    : new HttpProtocol[]{secure ? HttpProtocol.H2 : HttpProtocol.H2C, HttpProtocol.HTTP11};
 
-            return new ReactorClientHttpConnector(HttpClient
-                    .create()
+            this.httpClient = HttpClient
                     .create(connProvider)
+                    .protocol(protocols)
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout)
                     .secure(t -> t.sslContext(sslContext))
-                    .resolver(DefaultAddressResolverGroup.INSTANCE));
+                    .resolver(spec -> spec
+                            .cacheMinTimeToLive(Duration.ofMillis(dnsCacheMinTtl))
+                            .cacheMaxTimeToLive(Duration.ofMillis(dnsCacheMaxTtl))
+                            .cacheNegativeTimeToLive(Duration.ofMillis(dnsCacheNegativeTtl))
+                            .queryTimeout(Duration.ofMillis(dnsQueryTimeout)));
         }
+
+        public ClientHttpConnector getClientHttp(String nameLogClass) {
+            return new ReactorClientHttpConnector(httpClient);
+        }
+    }
+
+    /**
+     * Built once so TLS sessions are resumed across pooled connections.
+     * The HTTP/2 spec also advertises h2 via ALPN.
+     */
+    @SneakyThrows
+    private SslContext sslContext() {
+        SslProvider.ProtocolSslContextSpec spec = http2Enabled
+                ? Http2SslContextSpec.forClient()
+                : Http11SslContextSpec.forClient();
+        return spec
+                .configure(builder -> builder
+                        .trustManager(InsecureTrustManagerFactory.INSTANCE)
+                        .sessionCacheSize(sslSessionCacheSize)
+                        .sessionTimeout(sslSessionTimeout))
+                .sslContext();
     }
 }
@@ -0,0 +1,66 @@
+package ru.t1.java.demo.web;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import ru.t1.java.demo.model.dto.CheckResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Collects single-id checks that arrive within {@code window} (or until {@code maxBatchSize}
+ * is reached) and resolves them with one batched call.
+ */
+@Slf4j
+class CheckCoalescer {
+
+    private static final Duration EMIT_TIMEOUT = Duration.ofMillis(100);
+
+    private final Sinks.Many<PendingCheck> pending = Sinks.many().unicast().onBackpressureBuffer();
+    private final Function<List<Integer>, Mono<Map<Integer, CheckResponse>>> batchCall;
+    private final Disposable subscription;
+
+    CheckCoalescer(Duration window,
+                   int maxBatchSize,
+                   Function<List<Integer>, Mono<Map<Integer, CheckResponse>>> batchCall) {
+        this.batchCall = batchCall;
+        this.subscription = pending.asFlux()
+                .bufferTimeout(maxBatchSize, window)
+                .flatMap(this::dispatch)
+                .subscribe();
+    }
+
+    CompletableFuture<CheckResponse> submit(Integer clientId) {
+        PendingCheck check = new PendingCheck(clientId, new CompletableFuture<>());
+        pending.emitNext(check, Sinks.EmitFailureHandler.busyLooping(EMIT_TIMEOUT));
+        return check.result();
+    }
+
+    void dispose() {
+        pending.tryEmitComplete();
+        subscription.dispose();
+    }
+
+    private Mono<Void> dispatch(List<PendingCheck> batch) {
+        List<Integer> clientIds = batch.stream()
+                .map(PendingCheck::clientId)
+                .distinct()
+                .toList();
+        log.debug("Отправка пакета проверок, размер {}", clientIds.size());
+
+        return batchCall.apply(clientIds)
+                .doOnSuccess(results -> batch.forEach(check ->
+                        check.result().complete(results == null ? null : results.get(check.clientId()))))
+                .doOnError(e -> batch.forEach(check -> check.result().completeExceptionally(e)))
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    private record PendingCheck(Integer clientId, CompletableFuture<CheckResponse> result) {
+    }
+}
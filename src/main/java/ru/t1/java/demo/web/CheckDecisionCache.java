@@ -0,0 +1,65 @@
+package ru.t1.java.demo.web;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import ru.t1.java.demo.model.dto.CheckResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of check decisions. Blocked and allowed decisions live for different TTLs,
+ * concurrent lookups of the same client id share one in-flight request.
+ */
+public class CheckDecisionCache {
+
+    private final AsyncCache<Integer, CheckResponse> cache;
+
+    public CheckDecisionCache(long maximumSize,
+                              Duration blockedTtl,
+                              Duration allowedTtl,
+                              MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new DecisionExpiry(blockedTtl.toNanos(), allowedTtl.toNanos()))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "check_decisions");
+    }
+
+    /**
+     * Returns the cached decision or loads it once for all concurrent callers.
+     * A {@code null} decision is not cached.
+     */
+    public CompletableFuture<CheckResponse> get(Integer clientId,
+                                                Function<Integer, CompletableFuture<CheckResponse>> loader) {
+        return cache.get(clientId, (id, executor) -> loader.apply(id));
+    }
+
+    public void invalidate(Integer clientId) {
+        cache.synchronous().invalidate(clientId);
+    }
+
+    private record DecisionExpiry(long blockedTtlNanos, long allowedTtlNanos)
+            implements Expiry<Integer, CheckResponse> {
+
+        @Override
+        public long expireAfterCreate(Integer key, CheckResponse value, long currentTime) {
+            return Boolean.TRUE.equals(value.getBlocked()) ? blockedTtlNanos : allowedTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Integer key, CheckResponse value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Integer key, CheckResponse value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package ru.t1.java.demo.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import ru.t1.java.demo.exception.CheckUnavailableException;
+import ru.t1.java.demo.model.dto.CheckResponse;
+import ru.t1.java.demo.model.enums.CheckFallbackPolicy;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Circuit breaker and bulkhead around calls to the check service. A call that is not permitted
+ * is answered by the fallback policy instead of waiting for a degraded service.
+ */
+@Slf4j
+public class CheckGuard {
+
+    static final String NAME = "check";
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    @Getter
+    private final CheckFallbackPolicy fallbackPolicy;
+    private final Cache<Integer, CheckResponse> lastKnown;
+
+    public CheckGuard(CircuitBreakerConfig circuitBreakerConfig,
+                      BulkheadConfig bulkheadConfig,
+                      CheckFallbackPolicy fallbackPolicy,
+                      long lastKnownSize,
+                      MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(circuitBreakerConfig);
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(bulkheadConfig);
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(NAME);
+        this.bulkhead = bulkheadRegistry.bulkhead(NAME);
+        this.fallbackPolicy = fallbackPolicy;
+        this.lastKnown = Caffeine.newBuilder()
+                .maximumSize(fallbackPolicy == CheckFallbackPolicy.LAST_KNOWN ? lastKnownSize : 0)
+                .build();
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+        circuitBreaker.getEventPublisher()
+                .onStateTransition(event -> log.warn("Check circuit breaker: {}", event.getStateTransition()));
+    }
+
+    public Mono<CheckResponse> check(Integer clientId, Mono<CheckResponse> call) {
+        return protect(call)
+                .doOnNext(response -> lastKnown.put(clientId, response))
+                .onErrorResume(CheckGuard::isNotPermitted, e -> fallback(clientId, e));
+    }
+
+    public Mono<Map<Integer, CheckResponse>> checkBatch(List<Integer> clientIds,
+                                                        Mono<Map<Integer, CheckResponse>> call) {
+        return protect(call)
+                .doOnNext(lastKnown::putAll)
+                .onErrorResume(CheckGuard::isNotPermitted, e -> fallbackBatch(clientIds, e));
+    }
+
+    /**
+     * Runs {@code action} whenever the circuit leaves the open state, so parked work can be replayed.
+     * Replayed calls while half-open are limited by the breaker like any other call.
+     */
+    public void onRecovered(Runnable action) {
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            CircuitBreaker.State state = event.getStateTransition().getToState();
+            if (state == CircuitBreaker.State.CLOSED || state == CircuitBreaker.State.HALF_OPEN) {
+                action.run();
+            }
+        });
+    }
+
+    CircuitBreaker.State state() {
+        return circuitBreaker.getState();
+    }
+
+    private <T> Mono<T> protect(Mono<T> call) {
+        return call
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    private Mono<CheckResponse> fallback(Integer clientId, Throwable cause) {
+        if (fallbackPolicy == CheckFallbackPolicy.LAST_KNOWN) {
+            CheckResponse known = lastKnown.getIfPresent(clientId);
+            if (known != null) {
+                return Mono.just(known);
+            }
+        }
+        return Mono.error(new CheckUnavailableException("Check service unavailable for client " + clientId, cause));
+    }
+
+    private Mono<Map<Integer, CheckResponse>> fallbackBatch(List<Integer> clientIds, Throwable cause) {
+        if (fallbackPolicy == CheckFallbackPolicy.LAST_KNOWN) {
+            Map<Integer, CheckResponse> known = lastKnown.getAllPresent(clientIds);
+            if (known.size() == clientIds.size()) {
+                return Mono.just(known);
+            }
+        }
+        return Mono.error(new CheckUnavailableException("Check service unavailable for " + clientIds.size() + " clients", cause));
+    }
+
+    private static boolean isNotPermitted(Throwable throwable) {
+        return throwable instanceof CallNotPermittedException || throwable instanceof BulkheadFullException;
+    }
+}
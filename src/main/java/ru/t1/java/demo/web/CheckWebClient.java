@@ -1,25 +1,84 @@
 package ru.t1.java.demo.web;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.t1.java.demo.exception.CheckUnavailableException;
+import ru.t1.java.demo.model.dto.CheckBatchRequest;
+import ru.t1.java.demo.model.dto.CheckBatchResponse;
 import ru.t1.java.demo.model.dto.CheckRequest;
 import ru.t1.java.demo.model.dto.CheckResponse;
+import ru.t1.java.demo.model.enums.CheckFallbackPolicy;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 public class CheckWebClient extends BaseWebClient {
 
     @Value("${integration.resource}")
     private String resource;
+    @Value("${integration.batch-resource:${integration.resource}/batch}")
+    private String batchResource;
+    @Value("${integration.coalescing.enabled:false}")
+    private boolean coalescingEnabled;
+    @Value("${integration.coalescing.window:5}")
+    private long coalescingWindow;
+    @Value("${integration.coalescing.max-batch-size:100}")
+    private int coalescingMaxBatchSize;
 
-    public CheckWebClient(WebClient webClient) {
-        super(webClient);
+    private final CheckDecisionCache decisionCache;
+    private final CheckGuard guard;
+    private CheckCoalescer coalescer;
+
+    public CheckWebClient(WebClient webClient, MeterRegistry meterRegistry) {
+        this(webClient, meterRegistry, null, null);
+    }
+
+    public CheckWebClient(WebClient webClient,
+                          MeterRegistry meterRegistry,
+                          CheckDecisionCache decisionCache,
+                          CheckGuard guard) {
+        super(webClient, meterRegistry);
+        this.decisionCache = decisionCache;
+        this.guard = guard;
+    }
+
+    @PostConstruct
+    void init() {
+        if (coalescingEnabled) {
+            coalescer = new CheckCoalescer(Duration.ofMillis(coalescingWindow), coalescingMaxBatchSize, this::checkBatch);
+        }
+    }
+
+    @PreDestroy
+    void destroy() {
+        if (coalescer != null) {
+            coalescer.dispose();
+        }
     }
 
     public Optional<CheckResponse> check(Integer id) {
+        if (decisionCache != null) {
+            return join(decisionCache.get(id, this::fetch));
+        }
+        if (coalescer != null || guard != null) {
+            return join(fetch(id));
+        }
+
         log.debug("Старт запроса с id {}", id);
         ResponseEntity<CheckResponse> post = null;
         try {
@@ -40,4 +99,75 @@ public class CheckWebClient extends BaseWebClient {
         log.debug("Финиш запроса с id {}", id);
         return Optional.ofNullable(post.getBody());
     }
+
+    /**
+     * Non-blocking variant of {@link #check(Integer)}: goes through the same decision cache,
+     * coalescer and guard, but never parks the caller thread.
+     */
+    public Mono<CheckResponse> checkAsync(Integer id) {
+        return Mono.fromFuture(() -> decisionCache != null
+                ? decisionCache.get(id, this::fetch)
+                : fetch(id));
+    }
+
+    private CompletableFuture<CheckResponse> fetch(Integer id) {
+        if (coalescer != null) {
+            return coalescer.submit(id);
+        }
+        CheckRequest request = CheckRequest.builder()
+                .clientId(id)
+                .build();
+
+        Mono<CheckResponse> call = this.postAsync(
+                        uriBuilder -> uriBuilder.path(resource).build(),
+                        request,
+                        CheckResponse.class)
+                .mapNotNull(ResponseEntity::getBody);
+
+        return (guard != null ? guard.check(id, call) : call).toFuture();
+    }
+
+    /**
+     * Fallback policy applied when the check service may not be called,
+     * {@code null} when the client is not guarded.
+     */
+    public CheckFallbackPolicy fallbackPolicy() {
+        return guard != null ? guard.getFallbackPolicy() : null;
+    }
+
+    public void onRecovered(Runnable action) {
+        if (guard != null) {
+            guard.onRecovered(action);
+        }
+    }
+
+    private static Optional<CheckResponse> join(CompletableFuture<CheckResponse> result) {
+        try {
+            return Optional.ofNullable(result.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof CheckUnavailableException unavailable) {
+                throw unavailable;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private Mono<Map<Integer, CheckResponse>> checkBatch(List<Integer> ids) {
+        CheckBatchRequest request = CheckBatchRequest.builder()
+                .clientIds(ids)
+                .build();
+
+        Mono<Map<Integer, CheckResponse>> call = this.postAsync(
+                        uriBuilder -> uriBuilder.path(batchResource).build(),
+                        request,
+                        CheckBatchResponse.class)
+                .map(response -> Optional.ofNullable(response.getBody())
+                        .map(CheckBatchResponse::getResults)
+                        .orElse(Collections.emptyList())
+                        .stream()
+                        .filter(result -> Objects.nonNull(result.getClientId()))
+                        .collect(Collectors.toMap(CheckResponse::getClientId, Function.identity(), (a, b) -> b)));
+
+        return guard != null ? guard.checkBatch(ids, call) : call;
+    }
 }
@@ -0,0 +1,20 @@
+-- liquibase formatted sql
+
+-- changeset e_cha:1792213200000-1
+CREATE SEQUENCE IF NOT EXISTS transaction_seq START WITH 1 INCREMENT BY 50;
+
+-- changeset e_cha:1792213200000-2
+CREATE TABLE IF NOT EXISTS transaction
+(
+    id        BIGINT NOT NULL,
+    amount    NUMERIC(19, 2),
+    client_id BIGINT,
+    CONSTRAINT pk_transaction PRIMARY KEY (id)
+);
+
+-- changeset e_cha:1792213200000-3
+ALTER TABLE transaction
+    ADD COLUMN IF NOT EXISTS external_id VARCHAR(255);
+
+-- changeset e_cha:1792213200000-4
+CREATE UNIQUE INDEX IF NOT EXISTS uq_transaction_external_id ON transaction (external_id);
@@ -0,0 +1,53 @@
+package ru.t1.java.demo.aop;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.t1.java.demo.aop.annotation.Track;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static ru.t1.java.demo.model.enums.Metrics.TRACK_METHOD_DURATION;
+
+class MetricAspectTest {
+
+    @Test
+    void trackedCallsAreRecordedPerMethod() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MetricAspect aspect = new MetricAspect(meterRegistry);
+        ReflectionTestUtils.setField(aspect, "slo", new long[]{10, 100});
+        AspectJProxyFactory factory = new AspectJProxyFactory(new TrackedService());
+        factory.addAspect(aspect);
+        TrackedService service = factory.getProxy();
+
+        service.work();
+        service.work();
+        assertThatThrownBy(service::fail).isInstanceOf(IllegalStateException.class);
+        service.untracked();
+
+        Timer work = meterRegistry.get(TRACK_METHOD_DURATION.getValue())
+                .tags("class", "TrackedService", "method", "work").timer();
+        Timer fail = meterRegistry.get(TRACK_METHOD_DURATION.getValue())
+                .tags("method", "fail").timer();
+        assertThat(work.count()).isEqualTo(2);
+        assertThat(fail.count()).isEqualTo(1);
+        assertThat(meterRegistry.find(TRACK_METHOD_DURATION.getValue()).tags("method", "untracked").timer()).isNull();
+    }
+
+    static class TrackedService {
+
+        @Track
+        public void work() {
+        }
+
+        @Track
+        public void fail() {
+            throw new IllegalStateException();
+        }
+
+        public void untracked() {
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package ru.t1.java.demo.batch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.io.FileSystemResource;
+import ru.t1.java.demo.model.dto.ClientDto;
+import ru.t1.java.demo.util.ClientJsonReader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientImportPartitionerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void csvLinesAreDealtIntoPartsWithHeader() throws IOException {
+        Path source = directory.resolve("clients.csv");
+        Files.write(source, Stream.concat(Stream.of("id,first_name"),
+                IntStream.range(0, 10).mapToObj(i -> i + ",name" + i)).toList());
+
+        Map<String, ExecutionContext> partitions = new ClientImportPartitioner(source, ClientImportFormat.CSV,
+                directory.resolve("parts"), new ClientJsonReader()).partition(4);
+
+        assertThat(partitions).hasSize(4);
+        List<String> lines = new ArrayList<>();
+        for (ExecutionContext context : partitions.values()) {
+            List<String> part = Files.readAllLines(Path.of(context.getString(ClientImportPartitioner.PART_KEY)));
+            assertThat(part.get(0)).isEqualTo("id,first_name");
+            lines.addAll(part.subList(1, part.size()));
+        }
+        assertThat(lines).containsExactlyInAnyOrderElementsOf(
+                IntStream.range(0, 10).mapToObj(i -> i + ",name" + i).toList());
+    }
+
+    @Test
+    void jsonObjectsAreDealtIntoArrays() throws IOException {
+        Path source = directory.resolve("clients.json");
+        Files.writeString(source, """
+                [{"id": 1, "first_name": "A"}, {"id": 2, "first_name": "B"}, {"id": 3, "first_name": "C"}]""");
+        ClientJsonReader reader = new ClientJsonReader();
+
+        Map<String, ExecutionContext> partitions = new ClientImportPartitioner(source, ClientImportFormat.JSON,
+                directory.resolve("parts"), reader).partition(5);
+
+        List<String> names = new ArrayList<>();
+        for (ExecutionContext context : partitions.values()) {
+            try (Stream<ClientDto> clients = reader.stream(
+                    new FileSystemResource(context.getString(ClientImportPartitioner.PART_KEY)))) {
+                clients.map(ClientDto::getFirstName).forEach(names::add);
+            }
+        }
+        assertThat(partitions).hasSize(5);
+        assertThat(names).containsExactlyInAnyOrder("A", "B", "C");
+    }
+}
@@ -0,0 +1,149 @@
+package ru.t1.java.demo.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.batch.test.context.SpringBatchTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import ru.t1.java.demo.batch.ClientImportFormat;
+import ru.t1.java.demo.repository.ClientJdbcRepository;
+import ru.t1.java.demo.repository.SequenceIdAllocator;
+import ru.t1.java.demo.util.ClientJsonReader;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBatchTest
+@SpringJUnitConfig(ClientImportJobConfigTest.TestConfig.class)
+class ClientImportJobConfigTest {
+
+    @TempDir
+    static Path directory;
+
+    @Autowired
+    JobLauncherTestUtils jobLauncherTestUtils;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("t1.batch.client-import.work-directory", () -> directory.resolve("parts").toString());
+        registry.add("t1.batch.client-import.chunk-size", () -> 7);
+        registry.add("t1.batch.client-import.grid-size", () -> 4);
+        registry.add("t1.batch.client-import.threads", () -> 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM client");
+    }
+
+    @Test
+    void importsCsvEndToEnd() throws Exception {
+        Path source = directory.resolve("clients.csv");
+        Files.write(source, Stream.concat(Stream.of(String.join(",", "id", "first_name", "last_name",
+                        "middle_name", "email", "gender", "ip_address")),
+                IntStream.range(0, 100).mapToObj(i -> i + ",First" + i + ",Last" + i + ",Middle,e@mail,F,127.0.0.1")).toList());
+
+        JobExecution execution = jobLauncherTestUtils.launchJob(parameters(source, ClientImportFormat.CSV));
+
+        assertThat(execution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT id) FROM client", Long.class)).isEqualTo(100L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM client WHERE middle_name IS NOT NULL", Long.class))
+                .isZero();
+        assertThat(directory.resolve("parts").resolve(String.valueOf(execution.getJobId()))).doesNotExist();
+    }
+
+    @Test
+    void importsJsonEndToEnd() throws Exception {
+        Path source = directory.resolve("clients.json");
+        Files.writeString(source, IntStream.range(0, 30)
+                .mapToObj(i -> "{\"first_name\": \"First" + i + "\", \"last_name\": \"Last" + i + "\"}")
+                .reduce((a, b) -> a + "," + b)
+                .map(items -> "[" + items + "]")
+                .orElseThrow());
+
+        JobExecution execution = jobLauncherTestUtils.launchJob(parameters(source, ClientImportFormat.JSON));
+
+        assertThat(execution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(execution.getStepExecutions())
+                .filteredOn(step -> step.getStepName().startsWith("clientImportWorkerStep"))
+                .hasSize(4);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM client", Long.class)).isEqualTo(30L);
+    }
+
+    private static JobParameters parameters(Path source, ClientImportFormat format) {
+        return new JobParametersBuilder()
+                .addString(ClientImportJobConfig.SOURCE_PARAMETER, source.toString())
+                .addString(ClientImportJobConfig.FORMAT_PARAMETER, format.name())
+                .toJobParameters();
+    }
+
+    @Configuration
+    @EnableBatchProcessing
+    @Import(ClientImportJobConfig.class)
+    static class TestConfig {
+
+        @Bean
+        EmbeddedDatabase dataSource() {
+            return new EmbeddedDatabaseBuilder()
+                    .setType(EmbeddedDatabaseType.H2)
+                    .generateUniqueName(true)
+                    .addScript("/org/springframework/batch/core/schema-h2.sql")
+                    .build();
+        }
+
+        @Bean
+        DataSourceTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.execute("CREATE SEQUENCE client_seq START WITH 1 INCREMENT BY 50");
+            jdbcTemplate.execute("""
+                    CREATE TABLE client (id BIGINT PRIMARY KEY, first_name VARCHAR(255), last_name VARCHAR(255),
+                    middle_name VARCHAR(255), blocked_for BOOLEAN, blocked_whom VARCHAR(255), client_id INTEGER)""");
+            return jdbcTemplate;
+        }
+
+        @Bean
+        SequenceIdAllocator sequenceIdAllocator(DataSource dataSource) {
+            return new SequenceIdAllocator(dataSource);
+        }
+
+        @Bean
+        ClientJdbcRepository clientJdbcRepository(JdbcTemplate jdbcTemplate, SequenceIdAllocator idAllocator) {
+            return new ClientJdbcRepository(jdbcTemplate, idAllocator);
+        }
+
+        @Bean
+        ClientJsonReader clientJsonReader() {
+            return new ClientJsonReader();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package ru.t1.java.demo.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.t1.java.demo.config.KafkaStreamsConfig;
+import ru.t1.java.demo.model.dto.TransactionDto;
+
+import java.math.BigDecimal;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientBalanceTopologyTest {
+
+    private static final String TOPIC = "t1_demo_client_transactions";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void balanceIsSummedPerClient() {
+        ClientBalanceTopology topology = new ClientBalanceTopology();
+        ReflectionTestUtils.setField(topology, "transactionTopic", TOPIC);
+        StreamsBuilder builder = new StreamsBuilder();
+        topology.buildPipeline(builder, meterRegistry);
+        Properties props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "balance-test");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+
+        try (TopologyTestDriver driver = new TopologyTestDriver(builder.build(), props)) {
+            TestInputTopic<String, TransactionDto> input = driver.createInputTopic(TOPIC,
+                    Serdes.String().serializer(), KafkaStreamsConfig.transactionSerde(meterRegistry).serializer());
+            input.pipeInput("a", transaction(1L, "100.50"));
+            input.pipeInput("b", transaction(2L, "7"));
+            input.pipeInput("c", transaction(1L, "-0.50"));
+            input.pipeInput("d", null);
+
+            KeyValueStore<String, BigDecimal> store = driver.getKeyValueStore(ClientBalanceTopology.BALANCE_STORE);
+            assertThat(store.get("1")).isEqualByComparingTo("100.00");
+            assertThat(store.get("2")).isEqualByComparingTo("7");
+        }
+    }
+
+    private static TransactionDto transaction(Long clientId, String amount) {
+        return TransactionDto.builder()
+                .clientId(clientId)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+}
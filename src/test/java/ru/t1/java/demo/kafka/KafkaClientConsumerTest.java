@@ -0,0 +1,68 @@
+package ru.t1.java.demo.kafka;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.t1.java.demo.model.dto.CheckResponse;
+import ru.t1.java.demo.model.dto.ClientDto;
+import ru.t1.java.demo.repository.ClientJdbcRepository;
+import ru.t1.java.demo.service.impl.ClientServiceImpl;
+import ru.t1.java.demo.util.ClientJsonReader;
+import ru.t1.java.demo.web.CheckWebClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KafkaClientConsumerTest {
+
+    private static final String TOPIC = "t1_demo_client_registration";
+
+    private final ClientJdbcRepository clientJdbcRepository = mock(ClientJdbcRepository.class);
+    private final KafkaClientProducer<?> kafkaClientProducer = mock(KafkaClientProducer.class);
+    private final CheckWebClient checkWebClient = mock(CheckWebClient.class);
+    private final Acknowledgment ack = mock(Acknowledgment.class);
+    @SuppressWarnings("unchecked")
+    private final Consumer<String, ClientDto> consumer = mock(Consumer.class);
+
+    @Test
+    void batchWithCheckMissingDeadlineIsNotAcknowledged() throws InterruptedException {
+        AtomicInteger checks = new AtomicInteger();
+        when(checkWebClient.check(any())).thenAnswer(invocation -> {
+            if (checks.getAndIncrement() == 1) {
+                Thread.sleep(2_000);
+            }
+            return Optional.of(CheckResponse.builder().blocked(false).build());
+        });
+
+        listener().listener(List.of(record(0, "Ivan"), record(1, "Petr"), record(2, "Anna")), ack, consumer);
+
+        verify(ack, never()).acknowledge();
+        verify(ack).nack(0, Duration.ofMillis(500));
+        verify(clientJdbcRepository, never()).batchInsert(any());
+    }
+
+    private KafkaClientConsumer listener() {
+        ClientServiceImpl clientService = new ClientServiceImpl(clientJdbcRepository, kafkaClientProducer,
+                checkWebClient, mock(ClientJsonReader.class));
+        ReflectionTestUtils.setField(clientService, "checkConcurrency", 4);
+        ReflectionTestUtils.setField(clientService, "checkBatchTimeout", 200L);
+        KafkaClientConsumer listener = new KafkaClientConsumer(clientService);
+        ReflectionTestUtils.setField(listener, "retryBackoff", 500L);
+        return listener;
+    }
+
+    private static ConsumerRecord<String, ClientDto> record(long offset, String firstName) {
+        return new ConsumerRecord<>(TOPIC, 0, offset, String.valueOf(offset),
+                ClientDto.builder().firstName(firstName).build());
+    }
+}
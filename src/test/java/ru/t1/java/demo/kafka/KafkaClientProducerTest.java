@@ -0,0 +1,89 @@
+package ru.t1.java.demo.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static ru.t1.java.demo.model.enums.Metrics.KAFKA_PRODUCER_FAILURE_COUNT;
+
+class KafkaClientProducerTest {
+
+    private static final String TOPIC = "t1_demo_client_registered";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> template = mock(KafkaTemplate.class);
+
+    @BeforeEach
+    void setUp() {
+        when(template.getDefaultTopic()).thenReturn(TOPIC);
+    }
+
+    @Test
+    void failedSendIsCountedPerTopic() {
+        when(template.sendDefault(anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker is down")));
+        KafkaClientProducer<?> producer = new KafkaClientProducer<>(template, meterRegistry);
+
+        assertThatThrownBy(() -> producer.sendAsync(1L).join())
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(meterRegistry.get(KAFKA_PRODUCER_FAILURE_COUNT.getValue()).tag("topic", TOPIC).counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void sendDoesNotWaitForBroker() {
+        CompletableFuture<SendResult<String, Object>> pending = new CompletableFuture<>();
+        when(template.sendDefault(anyString(), any())).thenReturn(pending);
+        KafkaClientProducer<?> producer = new KafkaClientProducer<>(template, meterRegistry);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> producer.send(1L));
+        assertThat(producer.sendAsync(2L)).isNotDone();
+    }
+
+    @Test
+    void syncSendWaitsForBroker() {
+        CompletableFuture<SendResult<String, Object>> pending = new CompletableFuture<>();
+        when(template.sendDefault(anyString(), any())).thenReturn(pending);
+        KafkaClientProducer<?> producer = new KafkaClientProducer<>(template, meterRegistry);
+        ReflectionTestUtils.setField(producer, "sync", true);
+
+        CompletableFuture<Void> send = CompletableFuture.runAsync(() -> producer.send(1L));
+
+        assertThatThrownBy(() -> send.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        pending.complete(null);
+        assertThat(send).succeedsWithin(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void failedSendToIsCountedPerTopic() {
+        String topic = "t1_demo_client_transactions";
+        when(template.send(anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker is down")));
+        when(template.send(anyString(), anyInt(), anyLong(), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker is down")));
+        KafkaClientProducer<?> producer = new KafkaClientProducer<>(template, meterRegistry);
+
+        producer.sendTo(topic, "payload");
+
+        assertThat(meterRegistry.get(KAFKA_PRODUCER_FAILURE_COUNT.getValue()).tag("topic", topic).counter().count())
+                .isEqualTo(2);
+    }
+}
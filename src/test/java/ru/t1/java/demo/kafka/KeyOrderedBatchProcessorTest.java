@@ -0,0 +1,110 @@
+package ru.t1.java.demo.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyOrderedBatchProcessorTest {
+
+    private static final TopicPartition PARTITION = new TopicPartition("t1_demo_client_registration", 0);
+
+    private final MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    private final KeyOrderedBatchProcessor<String, String> processor = new KeyOrderedBatchProcessor<>(4, "test-lane-");
+
+    @BeforeEach
+    void setUp() {
+        consumer.assign(Set.of(PARTITION));
+        consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+    }
+
+    @AfterEach
+    void tearDown() {
+        processor.shutdown();
+    }
+
+    @Test
+    void processKeepsOrderPerKeyAndCommitsAll() {
+        List<String> handled = new CopyOnWriteArrayList<>();
+
+        boolean completed = processor.process(List.of(
+                record(0, "a", "a1"),
+                record(1, "b", "b1"),
+                record(2, "a", "a2")), consumer, handled::addAll);
+
+        assertThat(completed).isTrue();
+        assertThat(handled).containsSubsequence("a1", "a2").contains("b1");
+        assertThat(consumer.committed(Set.of(PARTITION)))
+                .containsEntry(PARTITION, new OffsetAndMetadata(3));
+    }
+
+    @Test
+    void processCommitsOnlyContiguousCompletedOffsets() {
+        boolean completed = processor.process(List.of(
+                record(0, "a", "a1"),
+                record(1, "b", "b1"),
+                record(2, "c", "c1")), consumer, values -> {
+            if (values.contains("b1")) {
+                throw new IllegalStateException("check failed");
+            }
+        });
+
+        assertThat(completed).isFalse();
+        assertThat(consumer.committed(Set.of(PARTITION)))
+                .containsEntry(PARTITION, new OffsetAndMetadata(1));
+        assertThat(consumer.position(PARTITION)).isEqualTo(1);
+    }
+
+    @Test
+    void redeliveredRecordsThatAlreadySucceededAreSkipped() {
+        processor.process(List.of(
+                record(0, "a", "a1"),
+                record(1, "b", "b1"),
+                record(2, "c", "c1")), consumer, values -> {
+            if (values.contains("b1")) {
+                throw new IllegalStateException("check failed");
+            }
+        });
+        List<String> redelivered = new CopyOnWriteArrayList<>();
+
+        boolean completed = processor.process(List.of(
+                record(1, "b", "b1"),
+                record(2, "c", "c1")), consumer, redelivered::addAll);
+
+        assertThat(completed).isTrue();
+        assertThat(redelivered).containsExactly("b1");
+        assertThat(consumer.committed(Set.of(PARTITION)))
+                .containsEntry(PARTITION, new OffsetAndMetadata(3));
+    }
+
+    @Test
+    void processCallsHandlerOncePerLane() {
+        KeyOrderedBatchProcessor<String, String> singleLane = new KeyOrderedBatchProcessor<>(1, "test-single-lane-");
+        List<List<String>> batches = new CopyOnWriteArrayList<>();
+        try {
+            singleLane.process(List.of(
+                    record(0, "a", "a1"),
+                    record(1, "b", "b1"),
+                    record(2, "a", "a2")), consumer, batches::add);
+        } finally {
+            singleLane.shutdown();
+        }
+
+        assertThat(batches).containsExactly(List.of("a1", "b1", "a2"));
+    }
+
+    private static ConsumerRecord<String, String> record(long offset, String key, String value) {
+        return new ConsumerRecord<>(PARTITION.topic(), PARTITION.partition(), offset, key, value);
+    }
+}
@@ -0,0 +1,54 @@
+package ru.t1.java.demo.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.config.ConfigException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.t1.java.demo.model.dto.ClientDto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static ru.t1.java.demo.model.enums.Metrics.KAFKA_DESERIALIZATION_FAILURE_COUNT;
+
+class MessageDeserializerTest {
+
+    private static final String TOPIC = "t1_demo_client_registration";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MessageDeserializer<ClientDto> deserializer = new MessageDeserializer<>();
+
+    @BeforeEach
+    void setUp() {
+        deserializer.configure(Map.of(MessageDeserializer.METER_REGISTRY_CONFIG, meterRegistry), false);
+    }
+
+    @Test
+    void deserializeReadsClientDto() {
+        byte[] data = "{\"first_name\":\"John\",\"last_name\":\"Doe\",\"email\":\"j@d.com\"}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        assertThat(deserializer.deserialize(TOPIC, data))
+                .isEqualTo(ClientDto.builder().firstName("John").lastName("Doe").build());
+    }
+
+    @Test
+    void deserializeCountsBrokenRecords() {
+        byte[] data = "{not json".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(deserializer.deserialize(TOPIC, data)).isNull();
+        assertThat(deserializer.deserialize(TOPIC, data)).isNull();
+        assertThat(meterRegistry.get(KAFKA_DESERIALIZATION_FAILURE_COUNT.getValue())
+                .tag("topic", TOPIC)
+                .counter()
+                .count()).isEqualTo(2);
+    }
+
+    @Test
+    void configureRequiresMeterRegistry() {
+        assertThatThrownBy(() -> new MessageDeserializer<ClientDto>().configure(Map.of(), false))
+                .isInstanceOf(ConfigException.class);
+    }
+}
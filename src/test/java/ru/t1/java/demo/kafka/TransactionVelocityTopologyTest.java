@@ -0,0 +1,79 @@
+package ru.t1.java.demo.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TestOutputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerde;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.t1.java.demo.config.KafkaStreamsConfig;
+import ru.t1.java.demo.model.dto.TransactionDto;
+import ru.t1.java.demo.model.dto.VelocityAlertDto;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionVelocityTopologyTest {
+
+    private static final String TOPIC = "t1_demo_client_transactions";
+    private static final String ALERT_TOPIC = "t1_demo_client_velocity_alerts";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void onlyClientAboveMinuteCountIsReported() {
+        TransactionVelocityTopology topology = new TransactionVelocityTopology();
+        ReflectionTestUtils.setField(topology, "transactionTopic", TOPIC);
+        ReflectionTestUtils.setField(topology, "alertTopic", ALERT_TOPIC);
+        ReflectionTestUtils.setField(topology, "grace", 0L);
+        ReflectionTestUtils.setField(topology, "minuteMaxCount", 2L);
+        ReflectionTestUtils.setField(topology, "minuteMaxAmount", new BigDecimal("1000"));
+        ReflectionTestUtils.setField(topology, "hourMaxCount", 100L);
+        ReflectionTestUtils.setField(topology, "hourMaxAmount", new BigDecimal("100000"));
+        StreamsBuilder builder = new StreamsBuilder();
+        topology.buildPipeline(builder, meterRegistry);
+        Properties props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "velocity-test");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        // closed windows are otherwise checked at most once per second of system time
+        props.put(StreamsConfig.InternalConfig.EMIT_INTERVAL_MS_KSTREAMS_WINDOWED_AGGREGATION, 0L);
+
+        try (TopologyTestDriver driver = new TopologyTestDriver(builder.build(), props)) {
+            TestInputTopic<String, TransactionDto> input = driver.createInputTopic(TOPIC,
+                    Serdes.String().serializer(), KafkaStreamsConfig.transactionSerde(meterRegistry).serializer());
+            TestOutputTopic<String, VelocityAlertDto> alerts = driver.createOutputTopic(ALERT_TOPIC,
+                    Serdes.String().deserializer(),
+                    new JsonSerde<>(VelocityAlertDto.class).ignoreTypeHeaders().deserializer());
+            Instant start = Instant.parse("2026-01-01T00:00:00Z");
+            for (int i = 0; i < 3; i++) {
+                input.pipeInput("k", transaction(1L), start.plusSeconds(i));
+            }
+            input.pipeInput("k", transaction(2L), start.plusSeconds(5));
+            input.pipeInput("k", transaction(2L), start.plus(Duration.ofMinutes(5)));
+
+            List<VelocityAlertDto> result = alerts.readValuesToList();
+            assertThat(result).singleElement().satisfies(alert -> {
+                assertThat(alert.getClientId()).isEqualTo(1L);
+                assertThat(alert.getWindow()).isEqualTo("1m");
+                assertThat(alert.getCount()).isEqualTo(3L);
+                assertThat(alert.getWindowEnd()).isEqualTo(start.plusSeconds(2).toEpochMilli());
+            });
+        }
+    }
+
+    private static TransactionDto transaction(Long clientId) {
+        return TransactionDto.builder()
+                .clientId(clientId)
+                .amount(BigDecimal.ONE)
+                .build();
+    }
+}
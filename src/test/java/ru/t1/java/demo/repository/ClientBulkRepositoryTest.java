@@ -0,0 +1,76 @@
+package ru.t1.java.demo.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import ru.t1.java.demo.model.Client;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares {@link ClientBulkRepository#persistAll} with an unbatched {@code saveAll}: both insert the
+ * same number of rows, the bulk path with a fraction of the JDBC statements.
+ */
+@Slf4j
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ClientBulkRepositoryTest {
+
+    private static final int ROWS = 5_000;
+
+    @Autowired
+    private ClientRepository clientRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void persistAllBatchesInserts() {
+        Session session = entityManager.unwrap(Session.class);
+        Statistics statistics = session.getSessionFactory().getStatistics();
+
+        session.setJdbcBatchSize(1);
+        statistics.clear();
+        long start = System.nanoTime();
+        clientRepository.saveAll(clients());
+        entityManager.flush();
+        entityManager.clear();
+        long plainNanos = System.nanoTime() - start;
+        long plainStatements = statistics.getPrepareStatementCount();
+
+        session.setJdbcBatchSize(null);
+        statistics.clear();
+        start = System.nanoTime();
+        List<Client> persisted = clientRepository.persistAll(clients());
+        long bulkNanos = System.nanoTime() - start;
+        long bulkStatements = statistics.getPrepareStatementCount();
+
+        log.info("saveAll: {} rows/s, {} statements; persistAll: {} rows/s, {} statements",
+                ROWS * 1_000_000_000L / plainNanos, plainStatements,
+                ROWS * 1_000_000_000L / bulkNanos, bulkStatements);
+
+        assertThat(clientRepository.count()).isEqualTo(2L * ROWS);
+        assertThat(persisted).extracting(Client::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        assertThat(bulkStatements).isLessThan(plainStatements / 10);
+    }
+
+    private static List<Client> clients() {
+        return IntStream.range(0, ROWS)
+                .mapToObj(i -> Client.builder()
+                        .firstName("first" + i)
+                        .lastName("last" + i)
+                        .clientId(i)
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,37 @@
+package ru.t1.java.demo.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SequenceIdAllocatorTest {
+
+    private final EmbeddedDatabase dataSource = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    void allocateUsesOneSequenceCallPerBlock() {
+        new JdbcTemplate(dataSource).execute("CREATE SEQUENCE client_seq START WITH 1 INCREMENT BY 50");
+        SequenceIdAllocator allocator = new SequenceIdAllocator(dataSource);
+
+        long[] first = allocator.allocate("client_seq", 30);
+        long[] second = allocator.allocate("client_seq", 30);
+
+        assertThat(first).startsWith(1L, 2L).endsWith(30L);
+        assertThat(second).startsWith(31L).contains(50L, 51L).endsWith(60L);
+        assertThat(new JdbcTemplate(dataSource).queryForObject("VALUES NEXT VALUE FOR client_seq", Long.class))
+                .isEqualTo(101L);
+    }
+}
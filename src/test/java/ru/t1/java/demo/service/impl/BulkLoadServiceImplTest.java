@@ -0,0 +1,65 @@
+package ru.t1.java.demo.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import ru.t1.java.demo.model.Transaction;
+import ru.t1.java.demo.repository.ClientJdbcRepository;
+import ru.t1.java.demo.repository.SequenceIdAllocator;
+import ru.t1.java.demo.repository.TransactionJdbcRepository;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkLoadServiceImplTest {
+
+    private final EmbeddedDatabase dataSource = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    void loadTransactionsFallsBackToBatchInsertOnH2() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE SEQUENCE transaction_seq START WITH 1 INCREMENT BY 50");
+        jdbcTemplate.execute("CREATE TABLE transaction (id BIGINT PRIMARY KEY, amount NUMERIC(19, 2), client_id BIGINT, external_id VARCHAR(255))");
+        SequenceIdAllocator idAllocator = new SequenceIdAllocator(dataSource);
+        TransactionJdbcRepository transactionJdbcRepository = new TransactionJdbcRepository(jdbcTemplate, idAllocator);
+        ReflectionTestUtils.setField(transactionJdbcRepository, "batchSize", 100);
+        BulkLoadServiceImpl service = new BulkLoadServiceImpl(dataSource, idAllocator,
+                new ClientJdbcRepository(jdbcTemplate, idAllocator), transactionJdbcRepository);
+        ReflectionTestUtils.setField(service, "chunkSize", 100);
+        ReflectionTestUtils.setField(service, "prefetch", 2);
+
+        long loaded = service.loadTransactions(Flux.range(0, 1_000).map(i -> {
+            Transaction transaction = new Transaction();
+            transaction.setAmount(BigDecimal.valueOf(i));
+            transaction.setClientId((long) i);
+            return transaction;
+        }));
+
+        assertThat(loaded).isEqualTo(1_000);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT id) FROM transaction", Long.class))
+                .isEqualTo(1_000L);
+    }
+
+    @Test
+    void appendCsvLineQuotesValuesAndLeavesNullsEmpty() {
+        StringBuilder csv = new StringBuilder();
+
+        BulkLoadServiceImpl.appendCsvLine(csv, new Object[]{1L, "Ivan \"the\" Great", null, ""});
+
+        assertThat(csv).hasToString("\"1\",\"Ivan \"\"the\"\" Great\",,\"\"\n");
+    }
+}
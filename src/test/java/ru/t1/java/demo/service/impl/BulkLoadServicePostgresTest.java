@@ -0,0 +1,82 @@
+package ru.t1.java.demo.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import ru.t1.java.demo.model.Client;
+import ru.t1.java.demo.repository.ClientJdbcRepository;
+import ru.t1.java.demo.repository.SequenceIdAllocator;
+import ru.t1.java.demo.repository.TransactionJdbcRepository;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the COPY path against a real PostgreSQL, e.g.
+ * {@code T1_TEST_POSTGRES_URL=jdbc:postgresql://localhost:5432/t1_demo mvn test}.
+ * Every run works in its own schema, which is dropped afterwards.
+ */
+@EnabledIfEnvironmentVariable(named = "T1_TEST_POSTGRES_URL", matches = ".+")
+class BulkLoadServicePostgresTest {
+
+    private final String url = System.getenv("T1_TEST_POSTGRES_URL");
+    private final String username = System.getenv().getOrDefault("T1_TEST_POSTGRES_USERNAME", "postgres");
+    private final String password = System.getenv().getOrDefault("T1_TEST_POSTGRES_PASSWORD", "0000");
+    private final String schema = "bulk_load_" + UUID.randomUUID().toString().replace("-", "");
+
+    private JdbcTemplate jdbcTemplate;
+    private BulkLoadServiceImpl service;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        new JdbcTemplate(new DriverManagerDataSource(url, username, password)).execute("CREATE SCHEMA " + schema);
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                url + (url.contains("?") ? "&" : "?") + "currentSchema=" + schema, username, password);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE SEQUENCE client_seq START WITH 1 INCREMENT BY 50");
+        jdbcTemplate.execute("""
+                CREATE TABLE client (id BIGINT PRIMARY KEY, first_name VARCHAR(255), last_name VARCHAR(255),
+                middle_name VARCHAR(255), blocked_for BOOLEAN, blocked_whom VARCHAR(255), client_id INTEGER)""");
+        SequenceIdAllocator idAllocator = new SequenceIdAllocator(dataSource);
+        service = new BulkLoadServiceImpl(dataSource, idAllocator, new ClientJdbcRepository(jdbcTemplate, idAllocator),
+                new TransactionJdbcRepository(jdbcTemplate, idAllocator));
+        ReflectionTestUtils.setField(service, "chunkSize", 100);
+        ReflectionTestUtils.setField(service, "prefetch", 2);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(new DriverManagerDataSource(url, username, password))
+                .execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+    }
+
+    @Test
+    void loadClientsCopiesEveryChunkInsideOneTransaction() {
+        Long loaded = transactionTemplate.execute(status -> service.loadClients(Flux.range(0, 1_000).map(i -> {
+            Client client = new Client();
+            client.setFirstName("Ivan \"" + i + "\", Jr");
+            client.setLastName(i % 2 == 0 ? "" : "Petrov");
+            client.setClientId(i);
+            return client;
+        })));
+
+        assertThat(loaded).isEqualTo(1_000L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT id) FROM client", Long.class)).isEqualTo(1_000L);
+        assertThat(jdbcTemplate.queryForObject("SELECT first_name FROM client WHERE client_id = 7", String.class))
+                .isEqualTo("Ivan \"7\", Jr");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM client WHERE last_name = ''", Long.class))
+                .isEqualTo(500L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM client WHERE middle_name IS NULL", Long.class))
+                .isEqualTo(1_000L);
+    }
+}
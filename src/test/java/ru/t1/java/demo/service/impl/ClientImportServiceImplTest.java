@@ -0,0 +1,48 @@
+package ru.t1.java.demo.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClientImportServiceImplTest {
+
+    @TempDir
+    Path importDirectory;
+
+    private final ClientImportServiceImpl service = new ClientImportServiceImpl(null, null, null);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ReflectionTestUtils.setField(service, "importDirectory", importDirectory.toString());
+        Files.writeString(importDirectory.resolve("clients.csv"), "id,first_name\n");
+        Files.createDirectory(importDirectory.resolve("nested"));
+        Files.writeString(importDirectory.resolve("nested").resolve("inner.csv"), "id,first_name\n");
+    }
+
+    @Test
+    void resolvesPlainFileNameInsideImportDirectory() {
+        assertThat(service.resolveSource("clients.csv"))
+                .isEqualTo(importDirectory.toAbsolutePath().normalize().resolve("clients.csv"));
+    }
+
+    @Test
+    void rejectsPathsUrlsAndMissingFiles() throws IOException {
+        Files.createSymbolicLink(importDirectory.resolve("link.csv"), importDirectory.resolve("clients.csv"));
+
+        for (String source : new String[]{"file:/etc/passwd", "/etc/passwd", "../clients.csv",
+                "nested/inner.csv", "classpath:MOCK_DATA.json", "http://localhost/clients.csv",
+                "nested", "missing.csv", "link.csv", ""}) {
+            assertThatThrownBy(() -> service.resolveSource(source))
+                    .as(source)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -6,21 +6,29 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import ru.t1.java.demo.exception.CheckDeadlineExceededException;
 import ru.t1.java.demo.kafka.KafkaClientProducer;
 import ru.t1.java.demo.model.Client;
 import ru.t1.java.demo.model.dto.CheckResponse;
 import ru.t1.java.demo.model.dto.ClientDto;
-import ru.t1.java.demo.repository.ClientRepository;
+import ru.t1.java.demo.repository.ClientJdbcRepository;
 import ru.t1.java.demo.web.CheckWebClient;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,7 +45,7 @@ class ClientServiceImplTest {
     ClientServiceImpl clientServiceMock;
 
     @Mock
-    ClientRepository clientRepositoryMock;
+    ClientJdbcRepository clientJdbcRepository;
 
     @Mock
     KafkaClientProducer kafkaClientProducer;
@@ -79,12 +87,12 @@ class ClientServiceImplTest {
         client.setFirstName("John");
         client.setLastName("Doe");
 
-        Client client2 = new Client();
-        client2.setId(422222L);
-        client2.setFirstName("John");
-        client2.setLastName("Doe");
-
-        when(clientRepositoryMock.save(client)).thenReturn(client2);
+        when(clientJdbcRepository.batchInsert(List.of(client)))
+                .thenAnswer(invocation -> {
+                    List<Client> saved = invocation.getArgument(0);
+                    saved.forEach(c -> c.setId(422222L));
+                    return saved;
+                });
 
         doNothing()
                 .when(kafkaClientProducer)
@@ -96,7 +104,106 @@ class ClientServiceImplTest {
 
         List<Client> clients = clientService.registerClients(List.of(client));
 
-        assertThat(clients.get(0).getId()).isEqualTo(422222L);
+        assertThat(clients).extracting(Client::getId).containsExactly(422222L);
+        verify(kafkaClientProducer).send(422222L);
+
+    }
+
+    @Test
+    void registerClientsConcurrentlyTest() {
+        ReflectionTestUtils.setField(clientService, "checkConcurrency", 4);
+        ReflectionTestUtils.setField(clientService, "checkBatchTimeout", 5000L);
+
+        Client first = new Client();
+        first.setId(2L);
+        first.setClientId(2);
+        Client blocked = new Client();
+        blocked.setId(3L);
+        blocked.setClientId(3);
+        Client second = new Client();
+        second.setId(1L);
+        second.setClientId(1);
+
+        when(checkWebClient.check(any()))
+                .thenAnswer(invocation -> Optional.of(CheckResponse.builder()
+                        .blocked(Integer.valueOf(3).equals(invocation.getArgument(0)))
+                        .build()));
+        when(clientJdbcRepository.batchInsert(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Client> clients = clientService.registerClients(List.of(first, blocked, second));
+
+        assertThat(clients).extracting(Client::getId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void registerClientsConcurrentlyFailsWhenCheckMissesDeadline() {
+        ReflectionTestUtils.setField(clientService, "checkConcurrency", 4);
+        ReflectionTestUtils.setField(clientService, "checkBatchTimeout", 200L);
+
+        Client fast = new Client();
+        fast.setClientId(1);
+        Client slow = new Client();
+        slow.setClientId(2);
+
+        when(checkWebClient.check(any()))
+                .thenAnswer(invocation -> {
+                    if (Integer.valueOf(2).equals(invocation.getArgument(0))) {
+                        Thread.sleep(2_000);
+                    }
+                    return Optional.of(CheckResponse.builder().blocked(false).build());
+                });
+
+        assertThatThrownBy(() -> clientService.registerClients(List.of(fast, slow)))
+                .isInstanceOfSatisfying(CheckDeadlineExceededException.class,
+                        e -> assertThat(e.getUncheckedClientIds()).containsExactly(2));
+        verify(clientJdbcRepository, never()).batchInsert(any());
+    }
+
+    @Test
+    void registerClientsAsyncTest() {
+        ReflectionTestUtils.setField(clientService, "checkConcurrency", 4);
+        ReflectionTestUtils.setField(clientService, "checkBatchTimeout", 5000L);
+
+        Client allowed = new Client();
+        allowed.setId(1L);
+        allowed.setClientId(1);
+        Client blocked = new Client();
+        blocked.setId(2L);
+        blocked.setClientId(2);
+
+        when(checkWebClient.checkAsync(any()))
+                .thenAnswer(invocation -> Mono.just(CheckResponse.builder()
+                        .blocked(Integer.valueOf(2).equals(invocation.getArgument(0)))
+                        .build()));
+        when(clientJdbcRepository.batchInsert(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(kafkaClientProducer.sendAsync(anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        List<Client> clients = clientService.registerClientsAsync(List.of(allowed, blocked)).block();
 
+        assertThat(clients).extracting(Client::getId).containsExactly(1L);
+        verify(kafkaClientProducer).sendAsync(1L);
+    }
+
+    @Test
+    void registerClientsAsyncFailsWhenCheckMissesDeadline() {
+        ReflectionTestUtils.setField(clientService, "checkConcurrency", 4);
+        ReflectionTestUtils.setField(clientService, "checkBatchTimeout", 200L);
+
+        Client fast = new Client();
+        fast.setClientId(1);
+        Client slow = new Client();
+        slow.setClientId(2);
+
+        when(checkWebClient.checkAsync(any()))
+                .thenAnswer(invocation -> Mono.just(CheckResponse.builder().blocked(false).build())
+                        .delayElement(Duration.ofMillis(Integer.valueOf(2).equals(invocation.getArgument(0)) ? 2_000 : 0)));
+
+        assertThatThrownBy(() -> clientService.registerClientsAsync(List.of(fast, slow)).block())
+                .isInstanceOfSatisfying(CheckDeadlineExceededException.class,
+                        e -> assertThat(e.getUncheckedClientIds()).containsExactly(2));
+        verify(clientJdbcRepository, never()).batchInsert(any());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,66 @@
+package ru.t1.java.demo.service.impl;
+
+import com.sun.management.ThreadMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.t1.java.demo.model.enums.Metrics.CLIENT_CONTROLLER_REQUEST_COUNT;
+import static ru.t1.java.demo.model.enums.Metrics.KAFKA_DESERIALIZATION_FAILURE_COUNT;
+
+class MetricServiceImplTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MetricServiceImpl metricService = new MetricServiceImpl(meterRegistry);
+
+    @Test
+    void incrementByNameUsesTheGivenName() {
+        metricService.incrementByName(KAFKA_DESERIALIZATION_FAILURE_COUNT.getValue());
+        metricService.increment(KAFKA_DESERIALIZATION_FAILURE_COUNT);
+        metricService.increment(CLIENT_CONTROLLER_REQUEST_COUNT);
+
+        assertThat(meterRegistry.get(KAFKA_DESERIALIZATION_FAILURE_COUNT.getValue()).tag("group", "t1_java").counter().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get(CLIENT_CONTROLLER_REQUEST_COUNT.getValue()).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void metersAreRegisteredOncePerNameAndTags() {
+        assertThat(metricService.counter("requests", "path", "/a"))
+                .isSameAs(metricService.counter("requests", "path", "/a"))
+                .isNotSameAs(metricService.counter("requests", "path", "/b"));
+        assertThat(metricService.timer("latency", "path", "/a")).isSameAs(metricService.timer("latency", "path", "/a"));
+
+        AtomicInteger first = new AtomicInteger(3);
+        assertThat(metricService.gauge("queue", first, AtomicInteger::get, "name", "q")).isSameAs(first);
+        assertThat(metricService.gauge("queue", new AtomicInteger(), AtomicInteger::get, "name", "q")).isSameAs(first);
+        assertThat(meterRegistry.get("queue").gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.find("requests").counters()).hasSize(2);
+    }
+
+    @Test
+    void lookupOfRegisteredMetersDoesNotAllocate() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        String[] tags = {"path", "/a"};
+        for (int i = 0; i < 10_000; i++) {
+            lookup(tags);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100_000; i++) {
+            lookup(tags);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertThat(allocated).isLessThan(10_000L);
+    }
+
+    private void lookup(String[] tags) {
+        metricService.counter("requests", tags);
+        metricService.timer("latency", tags);
+        metricService.increment(CLIENT_CONTROLLER_REQUEST_COUNT);
+    }
+}
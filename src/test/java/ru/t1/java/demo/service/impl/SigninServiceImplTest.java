@@ -0,0 +1,56 @@
+package ru.t1.java.demo.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.t1.java.demo.model.dto.JwtResponse;
+import ru.t1.java.demo.model.dto.LoginRequest;
+import ru.t1.java.demo.util.JwtUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SigninServiceImplTest {
+
+    @Test
+    void signinIsRejectedWhenExecutorQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+        UserDetailsImpl principal = new UserDetailsImpl(1L, "john", "john@mail.ru", null, List.of());
+        when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+            release.await();
+            return new UsernamePasswordAuthenticationToken(principal, null, List.of());
+        });
+        JwtUtils jwtUtils = mock(JwtUtils.class);
+        when(jwtUtils.generateJwtToken(any())).thenReturn("token");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SigninServiceImpl service = new SigninServiceImpl(authenticationManager, jwtUtils, meterRegistry);
+        ReflectionTestUtils.setField(service, "threads", 1);
+        ReflectionTestUtils.setField(service, "queueCapacity", 1);
+        service.init();
+        try {
+            CompletableFuture<JwtResponse> running = service.signin(new LoginRequest());
+            CompletableFuture<JwtResponse> queued = service.signin(new LoginRequest());
+
+            assertThatThrownBy(() -> service.signin(new LoginRequest()))
+                    .isInstanceOf(RejectedExecutionException.class);
+
+            release.countDown();
+            assertThat(running.get().getAccessToken()).isEqualTo("token");
+            assertThat(queued.get().getUsername()).isEqualTo("john");
+            assertThat(meterRegistry.find("executor.completed").tag("name", "signin").functionCounter()).isNotNull();
+        } finally {
+            service.destroy();
+        }
+    }
+}
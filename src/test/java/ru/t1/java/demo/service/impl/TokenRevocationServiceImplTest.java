@@ -0,0 +1,76 @@
+package ru.t1.java.demo.service.impl;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.t1.java.demo.util.JwtUtils;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationServiceImplTest {
+
+    private static final String SECRET = "tstrs4g434wyhser5htstrs4g434wyhser5htstrs4g434wyhser5htstrs4g434wyhser5h";
+
+    private final TokenRevocationServiceImpl service = new TokenRevocationServiceImpl();
+    private final JwtUtils jwtUtils = new JwtUtils();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "jwtExpirationMs", 60_000L);
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 60_000);
+        ReflectionTestUtils.setField(jwtUtils, "tokenCacheMaximumSize", 100L);
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+    }
+
+    @Test
+    void tokensIssuedBeforeRevocationAreRejected() {
+        Date issuedAt = new Date(System.currentTimeMillis() - 1_000);
+
+        service.revokeUser(1L);
+
+        assertThat(service.isRevoked(1L, issuedAt)).isTrue();
+        assertThat(service.isRevoked(2L, issuedAt)).isFalse();
+        assertThat(service.isRevoked(1L, new Date(System.currentTimeMillis() + 2_000))).isFalse();
+    }
+
+    @Test
+    void tokenIssuedBeforeSignOutInTheSameSecondIsRejected() throws InterruptedException {
+        waitForStartOfSecond();
+        Claims beforeSignOut = claims(jwtUtils.generateJwtToken(authentication()));
+
+        service.revokeUser(1L);
+        Thread.sleep(2);
+        Claims afterSignOut = claims(jwtUtils.generateJwtToken(authentication()));
+
+        assertThat(beforeSignOut.getIssuedAt()).isEqualTo(afterSignOut.getIssuedAt());
+        assertThat(service.isRevoked(1L, jwtUtils.getIssuedAt(beforeSignOut))).isTrue();
+        assertThat(service.isRevoked(1L, jwtUtils.getIssuedAt(afterSignOut))).isFalse();
+    }
+
+    private Claims claims(String token) {
+        return jwtUtils.parseClaims(token).orElseThrow();
+    }
+
+    /**
+     * Leaves enough of the current second for both tokens to share their {@code iat}.
+     */
+    private static void waitForStartOfSecond() throws InterruptedException {
+        long millisOfSecond = System.currentTimeMillis() % 1000;
+        if (millisOfSecond > 500) {
+            Thread.sleep(1000 - millisOfSecond);
+        }
+    }
+
+    private static UsernamePasswordAuthenticationToken authentication() {
+        UserDetailsImpl principal = new UserDetailsImpl(1L, "john", "john@mail.ru", "secret",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+}
@@ -0,0 +1,60 @@
+package ru.t1.java.demo.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.t1.java.demo.model.Transaction;
+import ru.t1.java.demo.model.dto.TransactionDto;
+import ru.t1.java.demo.repository.TransactionJdbcRepository;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.t1.java.demo.model.enums.Metrics.TRANSACTION_INGEST_REJECTED_COUNT;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionServiceImplTest {
+
+    @Mock
+    TransactionJdbcRepository transactionJdbcRepository;
+
+    @Test
+    void ingestSkipsInvalidDuplicateAndAlreadyStoredTransactions() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TransactionServiceImpl service = new TransactionServiceImpl(transactionJdbcRepository, meterRegistry);
+        when(transactionJdbcRepository.findExistingExternalIds(any())).thenReturn(Set.of("stored"));
+
+        int saved = service.ingest(Arrays.asList(
+                transaction("a"),
+                transaction("a"),
+                transaction("stored"),
+                transaction("b"),
+                TransactionDto.builder().externalId("no-amount").clientId(1L).build(),
+                null));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+        verify(transactionJdbcRepository).batchInsert(captor.capture());
+        assertThat(saved).isEqualTo(2);
+        assertThat(captor.getValue()).extracting(Transaction::getExternalId).containsExactly("a", "b");
+        assertThat(meterRegistry.counter(TRANSACTION_INGEST_REJECTED_COUNT.getValue(), "group", "t1_java").count())
+                .isEqualTo(2);
+    }
+
+    private static TransactionDto transaction(String externalId) {
+        return TransactionDto.builder()
+                .externalId(externalId)
+                .clientId(1L)
+                .amount(BigDecimal.TEN)
+                .build();
+    }
+}
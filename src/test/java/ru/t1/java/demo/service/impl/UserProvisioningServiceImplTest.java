@@ -0,0 +1,135 @@
+package ru.t1.java.demo.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.t1.java.demo.model.Role;
+import ru.t1.java.demo.model.RoleEnum;
+import ru.t1.java.demo.model.dto.BulkSignupResponse;
+import ru.t1.java.demo.model.dto.SignupRequest;
+import ru.t1.java.demo.repository.RoleRepository;
+import ru.t1.java.demo.repository.SequenceIdAllocator;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserProvisioningServiceImplTest {
+
+    private final EmbeddedDatabase dataSource = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+    private RoleRepository roleRepository;
+    private UserProvisioningServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50");
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, login VARCHAR(255) UNIQUE, email VARCHAR(255) UNIQUE, password VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE user_roles (user_id BIGINT, role_id BIGINT, PRIMARY KEY (user_id, role_id))");
+        jdbcTemplate.update("INSERT INTO users VALUES (1000, 'taken', 'taken@mail.ru', 'x')");
+
+        roleRepository = mock(RoleRepository.class);
+        when(roleRepository.findAll()).thenReturn(List.of(role(1L, RoleEnum.ROLE_USER), role(3L, RoleEnum.ROLE_ADMIN)));
+        service = service(encoder);
+    }
+
+    private UserProvisioningServiceImpl service(PasswordEncoder passwordEncoder) {
+        UserProvisioningServiceImpl provisioning = new UserProvisioningServiceImpl(jdbcTemplate,
+                new NamedParameterJdbcTemplate(jdbcTemplate), roleRepository, new SequenceIdAllocator(dataSource),
+                passwordEncoder, new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        ReflectionTestUtils.setField(provisioning, "hashThreads", 2);
+        ReflectionTestUtils.setField(provisioning, "hashQueueCapacity", 4);
+        ReflectionTestUtils.setField(provisioning, "batchSize", 2);
+        provisioning.init();
+        provisioning.loadRoles();
+        return provisioning;
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+        dataSource.shutdown();
+    }
+
+    @Test
+    void provisionInsertsNewUsersAndRejectsTakenOnes() {
+        BulkSignupResponse response = service.provision(List.of(
+                signup("anna", "anna@mail.ru", null),
+                signup("boris", "boris@mail.ru", Set.of("admin", "user")),
+                signup("anna", "other@mail.ru", null),
+                signup("taken", "new@mail.ru", null),
+                signup("clara", "taken@mail.ru", null),
+                signup("dmitry", "dmitry@mail.ru", Set.of("mod"))));
+
+        assertThat(response.getCreated()).isEqualTo(2);
+        assertThat(response.getRejected()).containsOnlyKeys("anna", "taken", "clara", "dmitry");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class)).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForList("""
+                SELECT ur.role_id FROM user_roles ur JOIN users u ON u.id = ur.user_id
+                WHERE u.login = 'boris' ORDER BY ur.role_id""", Long.class)).containsExactly(1L, 3L);
+        String hash = jdbcTemplate.queryForObject("SELECT password FROM users WHERE login = 'anna'", String.class);
+        assertThat(encoder.matches("secret-anna", hash)).isTrue();
+    }
+
+    @Test
+    void loginTakenWhileHashingIsRejectedByConstraintAndOthersAreInserted() {
+        service.destroy();
+        service = service(new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if ("secret-boris".contentEquals(rawPassword)) {
+                    jdbcTemplate.update("INSERT INTO users VALUES (1001, 'boris', 'boris@other.ru', 'x')");
+                }
+                return encoder.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encoder.matches(rawPassword, encodedPassword);
+            }
+        });
+
+        BulkSignupResponse response = service.provision(List.of(
+                signup("anna", "anna@mail.ru", null),
+                signup("boris", "boris@mail.ru", null),
+                signup("clara", "clara@mail.ru", null)));
+
+        assertThat(response.getCreated()).isEqualTo(2);
+        assertThat(response.getRejected()).containsOnlyKeys("boris");
+        assertThat(jdbcTemplate.queryForList("SELECT login FROM users ORDER BY login", String.class))
+                .containsExactly("anna", "boris", "clara", "taken");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_roles", Integer.class)).isEqualTo(2);
+    }
+
+    private static SignupRequest signup(String username, String email, Set<String> roles) {
+        SignupRequest request = new SignupRequest();
+        request.setUsername(username);
+        request.setEmail(email);
+        request.setPassword("secret-" + username);
+        request.setRole(roles);
+        return request;
+    }
+
+    private static Role role(Long id, RoleEnum name) {
+        Role role = new Role(name);
+        ReflectionTestUtils.setField(role, "id", id);
+        return role;
+    }
+}
@@ -0,0 +1,43 @@
+package ru.t1.java.demo.service.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadPinningMetricsTest {
+
+    private final Object lock = new Object();
+
+    @Test
+    void recordsPinnedVirtualThreads() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        try (VirtualThreadPinningMetrics metrics = new VirtualThreadPinningMetrics(Duration.ofMillis(10))) {
+            metrics.bindTo(registry);
+            Timer pinned = registry.get("t1_java_demo_virtual_thread_pinned_duration").timer();
+
+            Thread.ofVirtual().start(() -> {
+                synchronized (lock) {
+                    sleep(50);
+                }
+            }).join();
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (pinned.count() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+            assertThat(pinned.count()).isPositive();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ru.t1.java.demo.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import reactor.test.StepVerifier;
+import ru.t1.java.demo.model.dto.ClientDto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientJsonReaderTest {
+
+    private final ClientJsonReader reader = new ClientJsonReader();
+
+    @Test
+    void streamReadsMockData() throws Exception {
+        try (Stream<ClientDto> clients = reader.stream(new ClassPathResource("MOCK_DATA.json"))) {
+            assertThat(clients.findFirst())
+                    .contains(ClientDto.builder()
+                            .firstName("Arlena")
+                            .lastName("Renvoise")
+                            .middleName("Lyséa")
+                            .build());
+        }
+    }
+
+    @Test
+    void chunksSplitsArrayIntoFixedSizeLists() {
+        ByteArrayResource source = new ByteArrayResource("""
+                [{"first_name": "a"}, {"first_name": "b"}, {"first_name": "c"}]
+                """.getBytes(StandardCharsets.UTF_8));
+
+        StepVerifier.create(reader.chunks(source, 2))
+                .assertNext(chunk -> assertThat(chunk).extracting(ClientDto::getFirstName).containsExactly("a", "b"))
+                .assertNext(chunk -> assertThat(chunk).extracting(ClientDto::getFirstName).containsExactly("c"))
+                .verifyComplete();
+    }
+}
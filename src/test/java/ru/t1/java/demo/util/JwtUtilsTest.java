@@ -0,0 +1,85 @@
+package ru.t1.java.demo.util;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.t1.java.demo.service.impl.UserDetailsImpl;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilsTest {
+
+    private static final String SECRET = "tstrs4g434wyhser5htstrs4g434wyhser5htstrs4g434wyhser5htstrs4g434wyhser5h";
+
+    private final JwtUtils jwtUtils = new JwtUtils();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 60_000);
+        ReflectionTestUtils.setField(jwtUtils, "tokenCacheMaximumSize", 100L);
+        jwtUtils.init();
+    }
+
+    @Test
+    void verifiedTokenIsParsedOnce() {
+        String token = jwtUtils.generateJwtToken(authentication("john"));
+
+        assertThat(jwtUtils.validateJwtToken(token)).isTrue();
+        assertThat(jwtUtils.getUserNameFromJwtToken(token)).isEqualTo("john");
+        assertThat(jwtUtils.parseClaims(token).orElseThrow())
+                .isSameAs(jwtUtils.parseClaims(token).orElseThrow());
+    }
+
+    @Test
+    void expiredOrTamperedTokenIsRejected() {
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", -1_000);
+        String expired = jwtUtils.generateJwtToken(authentication("john"));
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 60_000);
+        String token = jwtUtils.generateJwtToken(authentication("john"));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThat(jwtUtils.validateJwtToken(expired)).isFalse();
+        assertThat(jwtUtils.validateJwtToken(tampered)).isFalse();
+        assertThat(jwtUtils.validateJwtToken("")).isFalse();
+    }
+
+    @Test
+    void principalIsRebuiltFromClaims() {
+        String token = jwtUtils.generateJwtToken(authentication("john"));
+
+        UserDetailsImpl userDetails = jwtUtils.parseClaims(token)
+                .flatMap(jwtUtils::getUserDetails)
+                .orElseThrow();
+
+        assertThat(userDetails.getId()).isEqualTo(1L);
+        assertThat(userDetails.getUsername()).isEqualTo("john");
+        assertThat(userDetails.getEmail()).isEqualTo("john@mail.ru");
+        assertThat(userDetails.getPassword()).isNull();
+        assertThat(userDetails.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void issuedAtKeepsMilliseconds() {
+        long before = System.currentTimeMillis();
+        Claims claims = jwtUtils.parseClaims(jwtUtils.generateJwtToken(authentication("john"))).orElseThrow();
+
+        assertThat(jwtUtils.getIssuedAt(claims).getTime())
+                .isBetween(before, System.currentTimeMillis())
+                .isEqualTo(claims.get(JwtUtils.ISSUED_AT_MS_CLAIM, Number.class).longValue());
+        assertThat(claims.getIssuedAt().getTime()).isEqualTo(jwtUtils.getIssuedAt(claims).getTime() / 1000 * 1000);
+    }
+
+    private static UsernamePasswordAuthenticationToken authentication(String username) {
+        UserDetailsImpl principal = new UserDetailsImpl(1L, username, username + "@mail.ru", "secret",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+}
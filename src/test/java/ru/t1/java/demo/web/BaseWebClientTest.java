@@ -0,0 +1,167 @@
+package ru.t1.java.demo.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import ru.t1.java.demo.model.dto.CheckRequest;
+import ru.t1.java.demo.model.dto.CheckResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BaseWebClientTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void retriesServerErrorsUntilSuccess() {
+        BaseWebClient client = client(call -> call < 2
+                ? Mono.just(response(HttpStatus.SERVICE_UNAVAILABLE))
+                : Mono.just(response(HttpStatus.OK)));
+
+        assertThat(call(client).getBody().getBlocked()).isFalse();
+        assertThat(calls).hasValue(3);
+        assertThat(meterRegistry.get("t1_java_demo_web_client_attempt_count").tag("kind", "retry").counter().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("t1_java_demo_web_client_request_count").tag("outcome", "success").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        BaseWebClient client = client(call -> Mono.just(response(HttpStatus.BAD_REQUEST)));
+
+        assertThatThrownBy(() -> call(client))
+                .hasCauseInstanceOf(WebClientResponseException.BadRequest.class);
+        assertThat(calls).hasValue(1);
+        assertThat(meterRegistry.get("t1_java_demo_web_client_request_count").tag("outcome", "client_error").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void slowAttemptsAreCutByAttemptTimeoutAndRetried() {
+        BaseWebClient client = client(call -> call == 0
+                ? Mono.just(response(HttpStatus.OK)).delayElement(Duration.ofSeconds(5))
+                : Mono.just(response(HttpStatus.OK)));
+        ReflectionTestUtils.setField(client, "attemptTimeout", 100L);
+
+        assertThat(call(client).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void overallDeadlineStopsRetries() {
+        BaseWebClient client = client(call -> Mono.just(response(HttpStatus.OK)).delayElement(Duration.ofSeconds(5)));
+        ReflectionTestUtils.setField(client, "attemptTimeout", 100L);
+        ReflectionTestUtils.setField(client, "overallTimeout", 150L);
+
+        assertThatThrownBy(() -> call(client)).hasRootCauseInstanceOf(TimeoutException.class);
+        assertThat(meterRegistry.get("t1_java_demo_web_client_request_count").tag("outcome", "timeout").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void hedgedAttemptAnswersWhenPrimaryIsSlow() {
+        BaseWebClient client = client(call -> call == 0
+                ? Mono.just(response(HttpStatus.OK)).delayElement(Duration.ofSeconds(5))
+                : Mono.just(response(HttpStatus.OK)));
+        ReflectionTestUtils.setField(client, "attemptTimeout", 3000L);
+        ReflectionTestUtils.setField(client, "hedgingEnabled", true);
+        ReflectionTestUtils.setField(client, "hedgingInitialDelay", 50L);
+
+        long start = System.nanoTime();
+        assertThat(call(client).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(meterRegistry.get("t1_java_demo_web_client_attempt_count").tag("kind", "hedge").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void hedgedAttemptAnswersWhenPrimaryFailsAfterHedgeStarted() {
+        BaseWebClient client = client(call -> call == 0
+                ? Mono.just(response(HttpStatus.SERVICE_UNAVAILABLE)).delayElement(Duration.ofMillis(200))
+                : Mono.just(response(HttpStatus.OK)).delayElement(Duration.ofMillis(400)));
+        ReflectionTestUtils.setField(client, "hedgingEnabled", true);
+        ReflectionTestUtils.setField(client, "hedgingInitialDelay", 50L);
+
+        assertThat(call(client).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(calls).hasValue(2);
+        assertThat(meterRegistry.find("t1_java_demo_web_client_attempt_count").tag("kind", "retry").counter())
+                .isNull();
+        assertThat(meterRegistry.get("t1_java_demo_web_client_request_count").tag("outcome", "success").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void roundFailsWithUnwrappedErrorWhenBothHedgedAttemptsFail() {
+        BaseWebClient client = client(call -> Mono.just(response(HttpStatus.BAD_REQUEST))
+                .delayElement(Duration.ofMillis(call == 0 ? 100 : 0)));
+        ReflectionTestUtils.setField(client, "hedgingEnabled", true);
+        ReflectionTestUtils.setField(client, "hedgingInitialDelay", 50L);
+
+        assertThatThrownBy(() -> call(client))
+                .hasCauseInstanceOf(WebClientResponseException.BadRequest.class);
+        assertThat(calls).hasValue(2);
+        assertThat(meterRegistry.get("t1_java_demo_web_client_request_count").tag("outcome", "client_error").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void retryableErrors() {
+        assertThat(BaseWebClient.isRetryable(exception(HttpStatus.REQUEST_TIMEOUT))).isTrue();
+        assertThat(BaseWebClient.isRetryable(exception(HttpStatus.TOO_MANY_REQUESTS))).isTrue();
+        assertThat(BaseWebClient.isRetryable(exception(HttpStatus.BAD_GATEWAY))).isTrue();
+        assertThat(BaseWebClient.isRetryable(new TimeoutException())).isTrue();
+        assertThat(BaseWebClient.isRetryable(exception(HttpStatus.NOT_FOUND))).isFalse();
+        assertThat(BaseWebClient.isRetryable(new IllegalStateException())).isFalse();
+    }
+
+    private BaseWebClient client(IntFunction<Mono<ClientResponse>> responses) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> responses.apply(calls.getAndIncrement()))
+                .build();
+        BaseWebClient client = new BaseWebClient(webClient, meterRegistry) {
+        };
+        ReflectionTestUtils.setField(client, "retryCount", 3);
+        ReflectionTestUtils.setField(client, "retryBackoff", 10);
+        ReflectionTestUtils.setField(client, "retryMaxBackoff", 50L);
+        ReflectionTestUtils.setField(client, "retryJitter", 0.5);
+        ReflectionTestUtils.setField(client, "attemptTimeout", 1000L);
+        ReflectionTestUtils.setField(client, "overallTimeout", 5000L);
+        ReflectionTestUtils.setField(client, "hedgingMinDelay", 20L);
+        ReflectionTestUtils.setField(client, "hedgingMinSamples", 100L);
+        return client;
+    }
+
+    private static ResponseEntity<CheckResponse> call(BaseWebClient client) {
+        return client.post(uriBuilder -> uriBuilder.path("/check").build(),
+                CheckRequest.builder().clientId(1).build(),
+                CheckResponse.class);
+    }
+
+    private static ClientResponse response(HttpStatus status) {
+        return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"blocked\":false}")
+                .build();
+    }
+
+    private static WebClientResponseException exception(HttpStatus status) {
+        return WebClientResponseException.create(status.value(), status.getReasonPhrase(), HttpHeaders.EMPTY,
+                new byte[0], null, null);
+    }
+}
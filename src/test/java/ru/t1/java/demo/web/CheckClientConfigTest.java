@@ -0,0 +1,55 @@
+package ru.t1.java.demo.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckClientConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(CheckClientConfig.class)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withPropertyValues(
+                    "integration.url=http://localhost:8081",
+                    "integration.resource=/bsc-wire-mock/api/client/check",
+                    "integration.retry-count=3",
+                    "integration.retry-backoff=1000",
+                    "integration.pool.max-connections=12",
+                    "integration.pool.max-idle-time=1500",
+                    "integration.pool.max-life-time=60000",
+                    "integration.pool.pending-acquire-max-count=34",
+                    "integration.pool.pending-acquire-timeout=750",
+                    "integration.pool.evict-in-background=20000");
+
+    @Test
+    void connectionProviderIsBuiltFromPoolProperties() {
+        contextRunner.run(context -> {
+            ConnectionProvider provider = context.getBean("checkConnectionProvider", ConnectionProvider.class);
+            // mutate() copies the pool settings the provider was built with
+            ConnectionProvider.Builder settings = provider.mutate();
+
+            assertThat(provider.maxConnections()).isEqualTo(12);
+            assertThat(ReflectionTestUtils.getField(settings, "pendingAcquireMaxCount")).isEqualTo(34);
+            assertThat(ReflectionTestUtils.getField(settings, "pendingAcquireTimeout")).isEqualTo(Duration.ofMillis(750));
+            assertThat(ReflectionTestUtils.getField(settings, "maxIdleTime")).isEqualTo(Duration.ofMillis(1500));
+            assertThat(ReflectionTestUtils.getField(settings, "maxLifeTime")).isEqualTo(Duration.ofMinutes(1));
+            assertThat(ReflectionTestUtils.getField(settings, "evictionInterval")).isEqualTo(Duration.ofSeconds(20));
+            assertThat(ReflectionTestUtils.getField(settings, "metricsEnabled")).isEqualTo(true);
+        });
+    }
+
+    @Test
+    void connectionProviderIsDisposedWithContext() {
+        ConnectionProvider[] provider = new ConnectionProvider[1];
+        contextRunner.run(context -> provider[0] = context.getBean("checkConnectionProvider", ConnectionProvider.class));
+
+        assertThat(provider[0].isDisposed()).isTrue();
+    }
+}
@@ -0,0 +1,74 @@
+package ru.t1.java.demo.web;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import ru.t1.java.demo.model.dto.CheckResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckCoalescerTest {
+
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+
+    private CheckCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() {
+        coalescer.dispose();
+    }
+
+    @Test
+    void submitRoutesBatchedResultsToCallers() {
+        coalescer = new CheckCoalescer(Duration.ofMillis(50), 10, ids -> {
+            batches.add(ids);
+            return Mono.just(ids.stream()
+                    .collect(Collectors.toMap(Function.identity(), id -> CheckResponse.builder()
+                            .clientId(id)
+                            .blocked(id % 2 == 0)
+                            .build())));
+        });
+
+        CompletableFuture<CheckResponse> first = coalescer.submit(1);
+        CompletableFuture<CheckResponse> second = coalescer.submit(2);
+        CompletableFuture<CheckResponse> third = coalescer.submit(3);
+
+        assertThat(first.join().getBlocked()).isFalse();
+        assertThat(second.join().getBlocked()).isTrue();
+        assertThat(third.join().getClientId()).isEqualTo(3);
+        assertThat(batches).containsExactly(List.of(1, 2, 3));
+    }
+
+    @Test
+    void submitSplitsBatchesByMaxSize() {
+        coalescer = new CheckCoalescer(Duration.ofSeconds(10), 2, ids -> {
+            batches.add(ids);
+            return Mono.just(Map.of());
+        });
+
+        CompletableFuture<CheckResponse> first = coalescer.submit(1);
+        CompletableFuture<CheckResponse> second = coalescer.submit(2);
+
+        assertThat(first.join()).isNull();
+        assertThat(second.join()).isNull();
+        assertThat(batches).containsExactly(List.of(1, 2));
+    }
+
+    @Test
+    void submitFailsAllCallersOfFailedBatch() {
+        coalescer = new CheckCoalescer(Duration.ofMillis(10), 10,
+                ids -> Mono.error(new IllegalStateException("check service is down")));
+
+        CompletableFuture<CheckResponse> result = coalescer.submit(1);
+
+        assertThat(result).failsWithin(Duration.ofSeconds(1));
+    }
+}
@@ -0,0 +1,53 @@
+package ru.t1.java.demo.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ru.t1.java.demo.model.dto.CheckResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckDecisionCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void getSharesInFlightLoad() {
+        CheckDecisionCache cache = new CheckDecisionCache(10, Duration.ofMinutes(5), Duration.ofMinutes(1), meterRegistry);
+        CompletableFuture<CheckResponse> pending = new CompletableFuture<>();
+
+        CompletableFuture<CheckResponse> first = cache.get(42, id -> {
+            loads.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<CheckResponse> second = cache.get(42, id -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        });
+        pending.complete(CheckResponse.builder().blocked(false).build());
+
+        assertThat(loads).hasValue(1);
+        assertThat(first.join()).isSameAs(second.join());
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void getDoesNotCacheMissingDecision() {
+        CheckDecisionCache cache = new CheckDecisionCache(10, Duration.ofMinutes(5), Duration.ofMinutes(1), meterRegistry);
+
+        cache.get(42, id -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        }).join();
+        cache.get(42, id -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(CheckResponse.builder().blocked(true).build());
+        }).join();
+
+        assertThat(loads).hasValue(2);
+    }
+}
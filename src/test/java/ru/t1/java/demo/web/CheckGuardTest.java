@@ -0,0 +1,88 @@
+package ru.t1.java.demo.web;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import ru.t1.java.demo.exception.CheckUnavailableException;
+import ru.t1.java.demo.model.dto.CheckResponse;
+import ru.t1.java.demo.model.enums.CheckFallbackPolicy;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CheckGuardTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void openCircuitServesLastKnownDecision() {
+        CheckGuard guard = guard(CheckFallbackPolicy.LAST_KNOWN, 10);
+        CheckResponse allowed = CheckResponse.builder().clientId(1).blocked(false).build();
+
+        assertThat(guard.check(1, call(Mono.just(allowed))).block()).isEqualTo(allowed);
+        tripCircuit(guard);
+        assertThat(guard.state()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        int before = calls.get();
+        assertThat(guard.check(1, call(Mono.just(allowed))).block()).isEqualTo(allowed);
+        assertThat(calls).hasValue(before);
+        assertThatThrownBy(() -> guard.check(2, call(Mono.just(allowed))).block())
+                .isInstanceOf(CheckUnavailableException.class);
+    }
+
+    @Test
+    void rejectPolicyFailsFastWhenBulkheadIsFull() {
+        CheckGuard guard = guard(CheckFallbackPolicy.REJECT, 1);
+
+        guard.check(1, call(Mono.never())).subscribe();
+
+        assertThatThrownBy(() -> guard.check(2, call(Mono.just(new CheckResponse()))).block())
+                .isInstanceOf(CheckUnavailableException.class);
+        assertThat(guard.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void clientErrorsDoNotTripCircuit() {
+        CheckGuard guard = guard(CheckFallbackPolicy.REJECT, 10);
+
+        for (int i = 0; i < 10; i++) {
+            guard.check(1, call(Mono.error(new IllegalArgumentException()))).onErrorResume(e -> Mono.empty()).block();
+        }
+
+        assertThat(guard.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private void tripCircuit(CheckGuard guard) {
+        for (int i = 0; i < 4; i++) {
+            guard.check(1, call(Mono.error(new TimeoutException()))).onErrorResume(e -> Mono.empty()).block();
+        }
+    }
+
+    private <T> Mono<T> call(Mono<T> result) {
+        return Mono.defer(() -> {
+            calls.incrementAndGet();
+            return result;
+        });
+    }
+
+    private static CheckGuard guard(CheckFallbackPolicy policy, int maxConcurrentCalls) {
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .slidingWindow(4, 4, CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .recordException(BaseWebClient::isRetryable)
+                .build();
+        BulkheadConfig bulkheadConfig = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+        return new CheckGuard(circuitBreakerConfig, bulkheadConfig, policy, 100, new SimpleMeterRegistry());
+    }
+}